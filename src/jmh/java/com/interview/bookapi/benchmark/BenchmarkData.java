@@ -0,0 +1,59 @@
+package com.interview.bookapi.benchmark;
+
+import com.interview.bookapi.dto.BookDTO;
+import com.interview.bookapi.entity.Book;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Deterministic sample books, so every run measures the same data.
+ */
+final class BenchmarkData {
+
+    private static final String[] ADJECTIVES = {"Silent", "Great", "Hidden", "Last", "Broken", "Golden", "Distant", "Secret"};
+    private static final String[] NOUNS = {"Garden", "River", "Empire", "Winter", "Library", "Harbor", "Forest", "Machine"};
+    private static final String[] FIRST_NAMES = {"Ada", "James", "Mary", "Leo", "Clara", "Victor", "Edith", "Hugo"};
+    private static final String[] LAST_NAMES = {"Hart", "Moreau", "Lindqvist", "Okafor", "Brennan", "Sato", "Novak", "Reyes"};
+    private static final String[] CATEGORIES = {"Fiction", "History", "Science", "Fantasy", "Biography", "Mystery"};
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    static Book book(long index) {
+        Book book = new Book();
+        BookDTO bookDTO = bookDTO(index);
+        book.setId(index + 1);
+        book.setTitle(bookDTO.getTitle());
+        book.setAuthor(bookDTO.getAuthor());
+        book.setDescription(bookDTO.getDescription());
+        book.setIsbn(bookDTO.getIsbn());
+        book.setCategory(bookDTO.getCategory());
+        book.setPageCount(bookDTO.getPageCount());
+        book.setPublisher(bookDTO.getPublisher());
+        book.setPublishedDate(bookDTO.getPublishedDate());
+        book.setCreatedAt(CREATED_AT.plusSeconds(index));
+        book.setUpdatedAt(CREATED_AT.plusSeconds(index));
+        return book;
+    }
+
+    static BookDTO bookDTO(long index) {
+        Random random = new Random(index);
+        BookDTO bookDTO = new BookDTO();
+        bookDTO.setTitle("The " + pick(random, ADJECTIVES) + " " + pick(random, NOUNS) + " " + index);
+        bookDTO.setAuthor(pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES));
+        bookDTO.setDescription("A story about the " + pick(random, NOUNS).toLowerCase()
+                + " and the " + pick(random, NOUNS).toLowerCase() + ".");
+        bookDTO.setIsbn(String.format("978%010d", index));
+        bookDTO.setCategory(pick(random, CATEGORIES));
+        bookDTO.setPageCount(100 + random.nextInt(700));
+        bookDTO.setPublisher(pick(random, LAST_NAMES) + " House");
+        bookDTO.setPublishedDate(String.valueOf(1950 + random.nextInt(75)));
+        return bookDTO;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
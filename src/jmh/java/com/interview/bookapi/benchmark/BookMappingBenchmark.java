@@ -0,0 +1,96 @@
+package com.interview.bookapi.benchmark;
+
+import com.interview.bookapi.dto.BookDTO;
+import com.interview.bookapi.entity.Book;
+import com.interview.bookapi.util.BookMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Book/BookDTO mapping: reflective {@link BeanUtils#copyProperties} against the field-by-field
+ * {@link BookMapper} used by the services, for a single entity and for a page of entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookMappingBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private Book book;
+    private BookDTO bookDTO;
+    private List<Book> page;
+
+    @Setup
+    public void setUp() {
+        book = BenchmarkData.book(1);
+        bookDTO = new BookDTO();
+        BeanUtils.copyProperties(book, bookDTO);
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(BenchmarkData.book(i));
+        }
+    }
+
+    @Benchmark
+    public BookDTO entityToDto() {
+        BookDTO result = new BookDTO();
+        BeanUtils.copyProperties(book, result);
+        return result;
+    }
+
+    @Benchmark
+    public Book dtoToEntity() {
+        Book result = new Book();
+        BeanUtils.copyProperties(bookDTO, result, "id", "createdAt", "updatedAt", "version");
+        return result;
+    }
+
+    @Benchmark
+    public List<BookDTO> pageToDtos() {
+        List<BookDTO> result = new ArrayList<>(page.size());
+        for (Book entity : page) {
+            BookDTO dto = new BookDTO();
+            BeanUtils.copyProperties(entity, dto);
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public BookDTO entityToDtoMapper() {
+        return BookMapper.toBookDTO(book);
+    }
+
+    @Benchmark
+    public Book dtoToEntityMapper() {
+        return BookMapper.toNewBook(bookDTO);
+    }
+
+    @Benchmark
+    public List<BookDTO> pageToDtosMapper() {
+        List<BookDTO> result = new ArrayList<>(page.size());
+        for (Book entity : page) {
+            result.add(BookMapper.toBookDTO(entity));
+        }
+        return result;
+    }
+}
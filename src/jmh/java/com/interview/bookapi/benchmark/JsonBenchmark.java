@@ -0,0 +1,75 @@
+package com.interview.bookapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.interview.bookapi.dto.BookDTO;
+import com.interview.bookapi.dto.GoogleBookResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson costs on the hot paths: writing a {@code Page<BookDTO>} listing response and reading
+ * a Google Books volumes response (mostly fields the client ignores).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    // Configured like Spring Boot's auto-configured mapper (JSR-310 module, ISO dates)
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private Page<BookDTO> page;
+    private byte[] googleBooksResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<BookDTO> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            BookDTO bookDTO = BenchmarkData.bookDTO(i);
+            bookDTO.setId((long) i + 1);
+            bookDTO.setCreatedAt(BenchmarkData.book(i).getCreatedAt());
+            bookDTO.setUpdatedAt(bookDTO.getCreatedAt());
+            content.add(bookDTO);
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+        try (InputStream in = JsonBenchmark.class.getResourceAsStream("/google-books-response.json")) {
+            googleBooksResponse = in.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeBookPage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public GoogleBookResponse deserializeGoogleBooksResponse() throws IOException {
+        return objectMapper.readValue(googleBooksResponse, GoogleBookResponse.class);
+    }
+}
@@ -0,0 +1,127 @@
+package com.interview.bookapi.benchmark;
+
+import com.interview.bookapi.BookApiApplication;
+import com.interview.bookapi.dto.BookDTO;
+import com.interview.bookapi.entity.Book;
+import com.interview.bookapi.repository.BookRepository;
+import com.interview.bookapi.service.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search against a catalog of {@code catalogSize} books in the {@code persistent} profile's
+ * file-backed H2 database (Flyway schema with its indexes, tuned Hikari pool), seeded through the
+ * batch API of a full application context: the substring repository query, the keyset variant
+ * used by cursor search, and the service's full-text search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class RepositorySearchBenchmark {
+
+    private static final int SEED_CHUNK = 5_000;
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"1000", "100000"})
+    private int catalogSize;
+
+    @Param({"garden"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private BookService bookService;
+    private Path indexPath;
+    private Path databasePath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        indexPath = Files.createTempDirectory("book-search-benchmark");
+        databasePath = Files.createTempDirectory("book-db-benchmark");
+        context = new SpringApplicationBuilder(BookApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("persistent")
+                .properties(
+                        "book.datasource.path=" + databasePath.resolve("bookdb"),
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "book.search.index-path=" + indexPath,
+                        "google.books.api.url=http://localhost",
+                        "google.books.api.key=benchmark",
+                        "logging.level.root=WARN")
+                .run();
+        bookRepository = context.getBean(BookRepository.class);
+        bookService = context.getBean(BookService.class);
+
+        for (int start = 0; start < catalogSize; start += SEED_CHUNK) {
+            List<BookDTO> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = start; i < Math.min(start + SEED_CHUNK, catalogSize); i++) {
+                chunk.add(BenchmarkData.bookDTO(i));
+            }
+            bookService.createBooks(chunk);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        deleteRecursively(indexPath);
+        deleteRecursively(databasePath);
+    }
+
+    @Benchmark
+    public Page<Book> repositoryContainingFirstPage() {
+        return bookRepository.findByTitleContainingIgnoreCase(query,
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
+
+    @Benchmark
+    public Page<Book> repositoryContainingDeepPage() {
+        return bookRepository.findByTitleContainingIgnoreCase(query,
+                PageRequest.of(50, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
+
+    @Benchmark
+    public Slice<BookDTO> repositoryKeysetFirstSlice() {
+        return bookRepository.findNextByTitleLike("%" + query + "%", "", 0L, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<BookDTO> serviceFullTextSearch() {
+        return bookService.searchBooks(query, "title", 0, PAGE_SIZE);
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (var paths = Files.walk(root)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+}
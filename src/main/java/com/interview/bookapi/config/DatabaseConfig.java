@@ -1,16 +1,9 @@
 package com.interview.bookapi.config;
 
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
-import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
 @EnableTransactionManagement
 public class DatabaseConfig {
-    
-    @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
-    }
 }
\ No newline at end of file
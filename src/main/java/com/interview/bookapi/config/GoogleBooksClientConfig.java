@@ -0,0 +1,107 @@
+package com.interview.bookapi.config;
+
+import com.interview.bookapi.exception.GoogleBooksRateLimitException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+@Configuration
+@EnableConfigurationProperties(GoogleBooksClientProperties.class)
+public class GoogleBooksClientConfig {
+
+    public static final String CLIENT_NAME = "google-books";
+
+    private final GoogleBooksClientProperties properties;
+
+    public GoogleBooksClientConfig(GoogleBooksClientProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider googleBooksConnectionProvider() {
+        GoogleBooksClientProperties.Pool pool = properties.getPool();
+        return ConnectionProvider.builder(CLIENT_NAME)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient googleBooksWebClient(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider googleBooksConnectionProvider,
+            @Value("${google.books.api.url}") String apiUrl) {
+        HttpClient httpClient = HttpClient.create(googleBooksConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(properties.getResponseTimeout())
+                .compress(true);
+        return webClientBuilder
+                .baseUrl(apiUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) properties.getMaxResponseSize().toBytes()))
+                .build();
+    }
+
+    @Bean
+    public RetryBackoffSpec googleBooksRetry() {
+        GoogleBooksClientProperties.Retry retry = properties.getRetry();
+        return Retry.backoff(retry.getMaxRetries(), retry.getMinBackoff())
+                .maxBackoff(retry.getMaxBackoff())
+                .jitter(retry.getJitter())
+                .filter(GoogleBooksClientConfig::isTransient)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    @Bean
+    public CircuitBreaker googleBooksCircuitBreaker(MeterRegistry meterRegistry) {
+        GoogleBooksClientProperties.CircuitBreaker circuitBreaker = properties.getCircuitBreaker();
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(circuitBreaker.getFailureRateThreshold())
+                .slidingWindowSize(circuitBreaker.getSlidingWindowSize())
+                .minimumNumberOfCalls(circuitBreaker.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(circuitBreaker.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(circuitBreaker.getPermittedCallsInHalfOpenState())
+                // A 4xx means the request was wrong, not that Google Books is unhealthy; rate limiter
+                // rejections never reached it
+                .ignoreException(ex -> ex instanceof GoogleBooksRateLimitException
+                        || ex instanceof WebClientResponseException responseException
+                        && responseException.getStatusCode().is4xxClientError()
+                        && responseException.getStatusCode().value() != 429)
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(CLIENT_NAME);
+    }
+
+    // Rate limiting, server errors and connection-level failures are worth another attempt
+    static boolean isTransient(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            HttpStatusCode status = responseException.getStatusCode();
+            return status.value() == 429 || status.is5xxServerError();
+        }
+        return error instanceof WebClientRequestException;
+    }
+}
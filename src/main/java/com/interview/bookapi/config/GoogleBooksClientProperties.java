@@ -0,0 +1,76 @@
+package com.interview.bookapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * HTTP client settings for the Google Books API: connection pool, timeouts, retry,
+ * circuit breaker and outbound rate limit / daily quota.
+ */
+@Data
+@ConfigurationProperties(prefix = "google.books.client")
+public class GoogleBooksClientProperties {
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    // Time allowed between request sent and response received, per attempt
+    private Duration responseTimeout = Duration.ofSeconds(3);
+    // Upper bound for a whole lookup including retries
+    private Duration totalTimeout = Duration.ofSeconds(8);
+    private DataSize maxResponseSize = DataSize.ofMegabytes(1);
+    private Pool pool = new Pool();
+    private Retry retry = new Retry();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private RateLimit rateLimit = new RateLimit();
+
+    @Data
+    public static class Pool {
+        private int maxConnections = 50;
+        // Requests allowed to wait for a connection; beyond this they fail immediately
+        private int pendingAcquireMaxCount = 200;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictionInterval = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Retry {
+        // Retries after the first attempt, for 429, 5xx and connection errors
+        private int maxRetries = 2;
+        private Duration minBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        private double jitter = 0.5;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        private float failureRateThreshold = 50;
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 3;
+    }
+
+    @Data
+    public static class RateLimit {
+        private double permitsPerSecond = 5;
+        // Permits that can be spent at once after an idle period
+        private int burst = 10;
+        // Permits background lookups leave in the bucket for interactive ones
+        private int interactiveReserve = 2;
+        // Longest an interactive lookup waits for a permit before it is rejected
+        private Duration maxWait = Duration.ofSeconds(1);
+        // Longest a background lookup keeps backing off for a permit before it is rejected
+        private Duration backgroundMaxWait = Duration.ofSeconds(30);
+        // Requests per day across all lanes; 0 disables the quota
+        private long dailyQuota = 1000;
+        // Share of the daily quota background lookups may use
+        private double backgroundQuotaShare = 0.8;
+        // Google Books quotas reset at midnight Pacific time
+        private ZoneId quotaResetZone = ZoneId.of("America/Los_Angeles");
+    }
+}
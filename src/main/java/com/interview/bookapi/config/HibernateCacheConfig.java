@@ -0,0 +1,80 @@
+package com.interview.bookapi.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache: a bounded Caffeine-backed JCache region for {@code Book} entities,
+ * one for cached query results and the update-timestamps region Hibernate uses to drop query
+ * results once the books table has changed. Entity entries are updated on commit by
+ * {@code READ_WRITE} concurrency; bulk JPQL deletes evict the whole region. Statistics are
+ * enabled so the hit ratio of each region is exported through Micrometer
+ * ({@code hibernate.second.level.cache.requests}).
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String BOOK_REGION = "books";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${book.cache.entity.maximum-size:50000}") long entityMaximumSize,
+            @Value("${book.cache.entity.ttl:PT1H}") Duration entityTtl,
+            @Value("${book.cache.query.maximum-size:1000}") long queryMaximumSize,
+            @Value("${book.cache.query.ttl:PT10M}") Duration queryTtl) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager();
+        createCache(cacheManager, BOOK_REGION, regionConfiguration(entityMaximumSize, entityTtl));
+        createCache(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(queryMaximumSize, queryTtl));
+        // Must never drop a timestamp while query results that depend on it are still cached
+        createCache(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(-1, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateSecondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static void createCache(CacheManager cacheManager, String name, CaffeineConfiguration<Object, Object> configuration) {
+        // The provider's default manager outlives an application context (e.g. between test contexts)
+        if (cacheManager.getCache(name) == null) {
+            cacheManager.createCache(name, configuration);
+        }
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maximumSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate already stores disassembled, immutable entries; no need to copy them on every access
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (maximumSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        return configuration;
+    }
+}
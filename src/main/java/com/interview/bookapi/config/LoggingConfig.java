@@ -1,58 +1,107 @@
 package com.interview.bookapi.config;
 
-import com.interview.bookapi.util.LoggingInterceptor;
+import com.interview.bookapi.util.RequestLogWriter;
+import com.interview.bookapi.util.TeeResponseWrapper;
 import jakarta.servlet.Filter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.filter.CommonsRequestLoggingFilter;
-import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Set;
 
 @Configuration
-public class LoggingConfig implements WebMvcConfigurer {
-    
-    private final LoggingInterceptor loggingInterceptor;
-    
-    public LoggingConfig(LoggingInterceptor loggingInterceptor) {
-        this.loggingInterceptor = loggingInterceptor;
-    }
-    
-    @Override
-    public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(loggingInterceptor);
+@EnableConfigurationProperties(RequestLoggingProperties.class)
+public class LoggingConfig {
+
+    private final RequestLogWriter requestLogWriter;
+    private final RequestLoggingProperties properties;
+
+    public LoggingConfig(RequestLogWriter requestLogWriter, RequestLoggingProperties properties) {
+        this.requestLogWriter = requestLogWriter;
+        this.properties = properties;
     }
-    
+
     @Bean
     public FilterRegistrationBean<Filter> requestResponseWrapperFilter() {
         FilterRegistrationBean<Filter> registrationBean = new FilterRegistrationBean<>();
-        registrationBean.setFilter(new ContentCachingFilter());
+        registrationBean.setFilter(new RequestLoggingFilter(requestLogWriter, properties.getMaxBodySize()));
         registrationBean.addUrlPatterns("/*");
         registrationBean.setOrder(Integer.MIN_VALUE);  // Ensure this filter runs first
         return registrationBean;
     }
-    
-    public static class ContentCachingFilter extends OncePerRequestFilter {
+
+    /**
+     * Wraps sampled requests so a bounded prefix of their bodies can be logged once the exchange
+     * completes (after the async dispatch for asynchronous handlers). Responses are written
+     * through to the client as they are produced. Unsampled requests pass through untouched.
+     */
+    public static class RequestLoggingFilter extends OncePerRequestFilter {
+        // Uploads are read incrementally; the request wrapper would size its cache from the content length
+        private static final Set<String> STREAMING_PATHS = Set.of("/api/books/import");
+        private static final String START_ATTRIBUTE = RequestLoggingFilter.class.getName() + ".start";
+
+        private final RequestLogWriter requestLogWriter;
+        private final int maxBodySize;
+
+        public RequestLoggingFilter(RequestLogWriter requestLogWriter, int maxBodySize) {
+            this.requestLogWriter = requestLogWriter;
+            this.maxBodySize = maxBodySize;
+        }
+
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            return STREAMING_PATHS.contains(path);
+        }
+
+        @Override
+        protected boolean shouldNotFilterAsyncDispatch() {
+            return false;
+        }
+
         @Override
         protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
                 throws ServletException, IOException {
-            ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(request);
-            ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
-            
+            HttpServletRequest requestToUse = request;
+            HttpServletResponse responseToUse = response;
+            if (!isAsyncDispatch(request)) {
+                String path = request.getRequestURI().substring(request.getContextPath().length());
+                if (!requestLogWriter.isSampled(path)) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+                requestToUse = new ContentCachingRequestWrapper(request, maxBodySize);
+                responseToUse = new TeeResponseWrapper(response, maxBodySize);
+            }
+
             try {
-                filterChain.doFilter(requestWrapper, responseWrapper);
+                filterChain.doFilter(requestToUse, responseToUse);
             } finally {
-                // Do not copy the response body here, it will be done in the interceptor
+                if (!isAsyncStarted(requestToUse)) {
+                    complete(requestToUse, responseToUse);
+                }
+            }
+        }
+
+        private void complete(HttpServletRequest request, HttpServletResponse response) {
+            TeeResponseWrapper responseWrapper = WebUtils.getNativeResponse(response, TeeResponseWrapper.class);
+            ContentCachingRequestWrapper requestWrapper = WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class);
+            if (responseWrapper == null || requestWrapper == null) {
+                return;
             }
+            responseWrapper.finish();
+            long start = (Long) request.getAttribute(START_ATTRIBUTE);
+            requestLogWriter.log(requestWrapper, responseWrapper, System.nanoTime() - start);
         }
     }
-}
\ No newline at end of file
+}
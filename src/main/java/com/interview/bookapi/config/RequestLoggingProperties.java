@@ -0,0 +1,33 @@
+package com.interview.bookapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request/response logging settings. A request is logged with the sample rate of the first
+ * route whose pattern matches its path, or {@code sampleRate} when none does.
+ */
+@Data
+@ConfigurationProperties(prefix = "request-logging")
+public class RequestLoggingProperties {
+
+    private boolean enabled = true;
+    private double sampleRate = 1.0;
+    private List<Route> routes = new ArrayList<>();
+    // Bytes of each request/response body included in the log line
+    private int maxBodySize = 2048;
+    // Only these headers are logged (case-insensitive)
+    private List<String> headers = List.of("Content-Type", "Content-Length", "Accept", "User-Agent");
+    // Pending log events; rounded up to a power of two, events are dropped when it is full
+    private int bufferCapacity = 1024;
+
+    @Data
+    public static class Route {
+        // Ant-style path pattern, e.g. /api/books/suggest or /api/books/*/details
+        private String pattern;
+        private double sampleRate = 1.0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.interview.bookapi.config;
+
+import com.interview.bookapi.util.VirtualThreadPinningMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Virtual-thread execution mode, switched on with {@code spring.threads.virtual.enabled=true}.
+ * Spring Boot then runs Tomcat request handling and the application task executor on virtual
+ * threads, so the JPA calls and the blocking Google Books lookups in the service layer park
+ * their virtual thread instead of holding a platform thread.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    public VirtualThreadConfig() {
+        logger.info("Virtual thread execution mode enabled for request handling and task execution");
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "virtual-threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${virtual-threads.pinning-monitor.threshold:PT0.02S}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+}
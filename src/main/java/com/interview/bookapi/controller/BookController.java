@@ -1,16 +1,43 @@
 package com.interview.bookapi.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.interview.bookapi.dto.BatchResultDTO;
 import com.interview.bookapi.dto.BookDTO;
 import com.interview.bookapi.dto.BookDetailDTO;
+import com.interview.bookapi.dto.BookFileFormat;
+import com.interview.bookapi.dto.BookSuggestionDTO;
+import com.interview.bookapi.dto.BookVersionDTO;
+import com.interview.bookapi.dto.CursorPageDTO;
+import com.interview.bookapi.dto.ImportJobDTO;
+import com.interview.bookapi.exception.PreconditionFailedException;
+import com.interview.bookapi.service.BookExportService;
+import com.interview.bookapi.service.BookImportService;
 import com.interview.bookapi.service.BookService;
+import com.interview.bookapi.service.CatalogVersionTracker;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/books")
@@ -18,9 +45,16 @@ import org.springframework.web.bind.annotation.*;
 public class BookController {
 
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final CatalogVersionTracker catalogVersionTracker;
 
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, BookImportService bookImportService,
+                          BookExportService bookExportService, CatalogVersionTracker catalogVersionTracker) {
         this.bookService = bookService;
+        this.bookImportService = bookImportService;
+        this.bookExportService = bookExportService;
+        this.catalogVersionTracker = catalogVersionTracker;
     }
 
     @PostMapping
@@ -34,9 +68,33 @@ public class BookController {
     @PutMapping("/{id}")
     @Operation(summary = "Update a book", description = "Updates an existing book by ID")
     @ApiResponse(responseCode = "200", description = "Book updated successfully")
-    public ResponseEntity<BookDTO> updateBook(@PathVariable Long id, @Valid @RequestBody BookDTO bookDTO) {
-        BookDTO updatedBook = bookService.updateBook(id, bookDTO);
-        return ResponseEntity.ok(updatedBook);
+    @ApiResponse(responseCode = "409", description = "Book was modified concurrently, or the version in the body is stale")
+    @ApiResponse(responseCode = "412", description = "If-Match does not match the current version of the book")
+    public ResponseEntity<BookDTO> updateBook(
+            @PathVariable Long id,
+            @Valid @RequestBody BookDTO bookDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = versionFromIfMatch(id, ifMatch);
+        BookDTO updatedBook = bookService.updateBook(id, bookDTO, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(bookETag(updatedBook.getId(), updatedBook.getVersion(), ""))
+                .body(updatedBook);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = "application/merge-patch+json")
+    @Operation(summary = "Partially update a book", description = "Applies a JSON Merge Patch (RFC 7396): only the supplied fields change, null clears a field")
+    @ApiResponse(responseCode = "200", description = "Book patched successfully")
+    @ApiResponse(responseCode = "409", description = "Book was modified concurrently, or the version in the patch is stale")
+    @ApiResponse(responseCode = "412", description = "If-Match does not match the current version of the book")
+    public ResponseEntity<BookDTO> patchBook(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = versionFromIfMatch(id, ifMatch);
+        BookDTO patchedBook = bookService.patchBook(id, patch, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(bookETag(patchedBook.getId(), patchedBook.getVersion(), ""))
+                .body(patchedBook);
     }
 
     @DeleteMapping("/{id}")
@@ -47,41 +105,207 @@ public class BookController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create books in bulk", description = "Creates books in chunked, JDBC-batched transactions and reports a result per item")
+    @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results")
+    public ResponseEntity<BatchResultDTO> createBooks(@RequestBody List<BookDTO> bookDTOs) {
+        BatchResultDTO result = bookService.createBooks(bookDTOs);
+        return ResponseEntity.ok(result);
+    }
+
+    @PutMapping("/batch")
+    @Operation(summary = "Update books in bulk", description = "Updates books by the ID in each item and reports a result per item")
+    @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results")
+    public ResponseEntity<BatchResultDTO> updateBooks(@RequestBody List<BookDTO> bookDTOs) {
+        BatchResultDTO result = bookService.updateBooks(bookDTOs);
+        return ResponseEntity.ok(result);
+    }
+
+    @DeleteMapping("/batch")
+    @Operation(summary = "Delete books in bulk", description = "Deletes the books with the given IDs and reports a result per item")
+    @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results")
+    public ResponseEntity<BatchResultDTO> deleteBooks(@RequestBody List<Long> ids) {
+        BatchResultDTO result = bookService.deleteBooks(ids);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    @Operation(summary = "Import a book catalog", description = "Accepts an NDJSON or CSV upload and imports it in the background in transactional chunks")
+    @ApiResponse(responseCode = "202", description = "Import accepted, poll the returned job for progress")
+    public ResponseEntity<ImportJobDTO> importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream content) throws IOException {
+        ImportJobDTO job = bookImportService.startImport(content, contentType);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/books/import/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/import/{jobId}")
+    @Operation(summary = "Get import progress", description = "Retrieves progress and per-row errors of a catalog import")
+    @ApiResponse(responseCode = "200", description = "Import job retrieved successfully")
+    public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable String jobId) {
+        ImportJobDTO job = bookImportService.getImportJob(jobId);
+        return ResponseEntity.ok(job);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export the book catalog", description = "Streams every book as NDJSON or CSV straight from a database cursor")
+    @ApiResponse(responseCode = "200", description = "Catalog streamed successfully")
+    public void exportBooks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        BookFileFormat fileFormat = BookFileFormat.fromName(format);
+        response.setContentType(fileFormat.getMediaType().toString());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"books" + fileFormat.getExtension() + "\"");
+        bookExportService.exportBooks(fileFormat, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a book by ID", description = "Retrieves a book by its ID")
     @ApiResponse(responseCode = "200", description = "Book retrieved successfully")
-    public ResponseEntity<BookDTO> getBookById(@PathVariable Long id) {
+    @ApiResponse(responseCode = "304", description = "Book unchanged since the ETag / date sent by the client")
+    public ResponseEntity<BookDTO> getBookById(@PathVariable Long id, WebRequest request) {
+        // One load (from the second-level cache for hot books) serves both the validators and the body
         BookDTO book = bookService.getBookById(id);
+        BookVersionDTO version = BookVersionDTO.of(book);
+        if (request.checkNotModified(bookETag(version, ""), toInstant(version.lastModified()).toEpochMilli())) {
+            // 304 and validators are already set on the response
+            return null;
+        }
         return ResponseEntity.ok(book);
     }
 
     @GetMapping
-    @Operation(summary = "Get all books with pagination", description = "Retrieves all books with pagination (10 per page)")
+    @Operation(summary = "Get all books with pagination", description = "Retrieves all books with pagination (10 per page). "
+            + "Pass cursor (empty for the first slice) for keyset pagination without a total count, "
+            + "enrich=true for book details with Google Books info")
     @ApiResponse(responseCode = "200", description = "Books retrieved successfully")
-    public ResponseEntity<Page<BookDTO>> getAllBooks(
+    @ApiResponse(responseCode = "304", description = "Catalog unchanged since the ETag sent by the client")
+    public ResponseEntity<?> getAllBooks(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean enrich,
+            WebRequest request) {
+        // Enriched pages can carry live Google Books data, so only plain pages are validated
+        if (!enrich && request.checkNotModified(catalogETag("books", page, size, cursor))) {
+            return null;
+        }
+        if (cursor != null) {
+            CursorPageDTO<BookDTO> books = bookService.getAllBooks(cursor, size);
+            return ResponseEntity.ok(enrich ? withGoogleBooksInfo(books) : books);
+        }
         Page<BookDTO> books = bookService.getAllBooks(page, size);
-        return ResponseEntity.ok(books);
+        return ResponseEntity.ok(enrich ? withGoogleBooksInfo(books) : books);
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search books", description = "Search books by title, author, or genre")
     @ApiResponse(responseCode = "200", description = "Search results retrieved successfully")
-    public ResponseEntity<Page<BookDTO>> searchBooks(
+    public ResponseEntity<?> searchBooks(
             @RequestParam String query,
             @RequestParam(defaultValue = "title") String searchBy,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean enrich) {
+        if (cursor != null) {
+            CursorPageDTO<BookDTO> books = bookService.searchBooks(query, searchBy, cursor, size);
+            return ResponseEntity.ok(enrich ? withGoogleBooksInfo(books) : books);
+        }
         Page<BookDTO> books = bookService.searchBooks(query, searchBy, page, size);
-        return ResponseEntity.ok(books);
+        return ResponseEntity.ok(enrich ? withGoogleBooksInfo(books) : books);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest books", description = "Typeahead suggestions for titles and authors starting with the given prefix")
+    @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully")
+    public ResponseEntity<List<BookSuggestionDTO>> suggestBooks(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<BookSuggestionDTO> suggestions = bookService.suggestBooks(prefix, limit);
+        return ResponseEntity.ok(suggestions);
     }
 
     @GetMapping("/{id}/details")
     @Operation(summary = "Get book details with Google Books info", description = "Retrieves detailed book information including data from Google Books API")
     @ApiResponse(responseCode = "200", description = "Book details retrieved successfully")
-    public ResponseEntity<BookDetailDTO> getBookDetailsWithGoogleBooksInfo(@PathVariable Long id) {
-        BookDetailDTO bookDetails = bookService.getBookDetailsWithGoogleBooksInfo(id);
-        return ResponseEntity.ok(bookDetails);
+    @ApiResponse(responseCode = "304", description = "Stored book details unchanged since the ETag / date sent by the client")
+    public Mono<ResponseEntity<BookDetailDTO>> getBookDetailsWithGoogleBooksInfo(@PathVariable Long id, WebRequest request) {
+        // Only details served from stored enrichment are stable enough to validate
+        BookDetailDTO storedDetails = bookService.getStoredBookDetails(id);
+        BookVersionDTO version = BookVersionDTO.of(storedDetails);
+        if (version.enrichedAt() != null
+                && request.checkNotModified(detailsETag(version), toInstant(detailsLastModified(version)).toEpochMilli())) {
+            return null;
+        }
+        // Served asynchronously: the servlet thread is released while Google Books responds
+        return bookService.enrichBookDetailsAsync(storedDetails)
+                .map(ResponseEntity::ok);
+    }
+
+    // Strong ETag "<id>-<version>": the version is incremented by every write to the row
+    private static String bookETag(Long id, Long version, String representation) {
+        return "\"" + representation + id + "-" + version + "\"";
+    }
+
+    private static String bookETag(BookVersionDTO version, String representation) {
+        return bookETag(version.id(), version.version(), representation);
+    }
+
+    // Enrichment does not increment the version, so details are also versioned by when it last ran
+    private static String detailsETag(BookVersionDTO version) {
+        return "\"details-" + version.id() + "-" + version.version() + "-" + toInstant(version.enrichedAt()).toEpochMilli() + "\"";
+    }
+
+    private static LocalDateTime detailsLastModified(BookVersionDTO version) {
+        return version.enrichedAt().isAfter(version.lastModified()) ? version.enrichedAt() : version.lastModified();
+    }
+
+    // If-Match takes the strong ETag of GET /api/books/{id}; anything else cannot match this book.
+    // Returns null when there is no precondition to check (no header, or "*").
+    static Long versionFromIfMatch(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = id + "-";
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                String value = tag.substring(1, tag.length() - 1);
+                if (value.startsWith(prefix)) {
+                    try {
+                        return Long.parseLong(value.substring(prefix.length()));
+                    } catch (NumberFormatException ignored) {
+                        // Not one of our tags; try the next one
+                    }
+                }
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + ifMatch + " does not match book " + id);
+    }
+
+    // Pages get an ETag only: Last-Modified cannot express a delete. The catalog version is held
+    // in memory, so validating a page (offset or cursor) runs no query.
+    private String catalogETag(Object... params) {
+        String key = catalogVersionTracker.currentVersion() + "|" + Arrays.toString(params);
+        return "\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private Page<BookDetailDTO> withGoogleBooksInfo(Page<BookDTO> books) {
+        List<BookDetailDTO> details = bookService.getBookDetailsWithGoogleBooksInfo(books.getContent());
+        return new PageImpl<>(details, books.getPageable(), books.getTotalElements());
+    }
+
+    private CursorPageDTO<BookDetailDTO> withGoogleBooksInfo(CursorPageDTO<BookDTO> books) {
+        List<BookDetailDTO> details = bookService.getBookDetailsWithGoogleBooksInfo(books.getContent());
+        return new CursorPageDTO<>(details, details.size(), books.isHasNext(), books.getNextCursor());
     }
-}
\ No newline at end of file
+}
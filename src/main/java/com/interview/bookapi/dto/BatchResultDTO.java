@@ -0,0 +1,29 @@
+package com.interview.bookapi.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Data
+public class BatchResultDTO {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResultDTO> results = new ArrayList<>();
+
+    public void addResult(int index, Long id, BatchItemResultDTO.Status status, String message) {
+        results.add(new BatchItemResultDTO(index, id, status, message));
+        total++;
+        if (status.isSuccess()) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+    }
+
+    public void sortResults() {
+        results.sort(Comparator.comparingInt(BatchItemResultDTO::getIndex));
+    }
+}
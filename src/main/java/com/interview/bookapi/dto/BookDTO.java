@@ -1,22 +1,42 @@
 package com.interview.bookapi.dto;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
+// The all-args constructor backs the JPQL projections in BookRepository; keep the field order in sync
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class BookDTO {
     private Long id;
+    @Size(max = 255)
     private String isbn;
+    @NotBlank
+    @Size(max = 255)
     private String title;
+    @NotBlank
+    @Size(max = 255)
     private String author;
+    @Size(max = 500)
     private String description;
+    @Size(max = 255)
     private String publisher;
+    @Size(max = 255)
     private String publishedDate;
     private Integer pageCount;
+    @Size(max = 255)
     private String category;
     private Double rating;
+    @Size(max = 255)
     private String thumbnailUrl;
+    @Size(max = 255)
     private String language;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Optimistic-locking version; when sent back on PUT the update only applies to this version
+    private Long version;
 }
\ No newline at end of file
@@ -21,6 +21,10 @@ public class BookDetailDTO {
     private String infoLink;
     private Boolean isEbook;
     private String textSnippet;
+    private LocalDateTime enrichedAt;
+    // True when Google Books could not be reached and only stored data is returned
+    private boolean degraded;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
\ No newline at end of file
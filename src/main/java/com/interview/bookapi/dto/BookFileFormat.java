@@ -0,0 +1,53 @@
+package com.interview.bookapi.dto;
+
+import com.interview.bookapi.exception.InvalidRequestException;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum BookFileFormat {
+    NDJSON("application/x-ndjson", ".ndjson"),
+    CSV("text/csv", ".csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    BookFileFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return MediaType.parseMediaType(mediaType);
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static BookFileFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            try {
+                MediaType type = MediaType.parseMediaType(contentType);
+                for (BookFileFormat format : values()) {
+                    if (format.getMediaType().isCompatibleWith(type)) {
+                        return format;
+                    }
+                }
+            } catch (InvalidMediaTypeException ex) {
+                // Reported below
+            }
+        }
+        throw new InvalidRequestException("Unsupported content type: " + contentType
+                + " (expected application/x-ndjson or text/csv)");
+    }
+
+    public static BookFileFormat fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Unsupported format: " + name + " (expected ndjson or csv)");
+        }
+    }
+}
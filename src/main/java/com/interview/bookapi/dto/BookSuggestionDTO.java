@@ -0,0 +1,23 @@
+package com.interview.bookapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A typeahead suggestion. {@code bookId} is set for title suggestions only, since an author
+ * suggestion may stand for many books.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSuggestionDTO {
+
+    public enum Field {
+        TITLE, AUTHOR
+    }
+
+    private String text;
+    private Field field;
+    private Long bookId;
+}
@@ -0,0 +1,22 @@
+package com.interview.bookapi.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * What HTTP validators (ETag / Last-Modified) for a single book are derived from.
+ */
+public record BookVersionDTO(Long id, Long version, LocalDateTime lastModified, LocalDateTime enrichedAt) {
+
+    public static BookVersionDTO of(BookDTO book) {
+        return new BookVersionDTO(book.getId(), book.getVersion(), lastModified(book.getUpdatedAt(), book.getCreatedAt()), null);
+    }
+
+    public static BookVersionDTO of(BookDetailDTO details) {
+        return new BookVersionDTO(details.getId(), details.getVersion(),
+                lastModified(details.getUpdatedAt(), details.getCreatedAt()), details.getEnrichedAt());
+    }
+
+    private static LocalDateTime lastModified(LocalDateTime updatedAt, LocalDateTime createdAt) {
+        return updatedAt != null ? updatedAt : createdAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.interview.bookapi.dto;
+
+/**
+ * A book the enrichment worker should look up in Google Books.
+ */
+public record EnrichmentCandidateDTO(Long id, String isbn) {
+}
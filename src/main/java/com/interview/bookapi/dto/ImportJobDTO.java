@@ -0,0 +1,29 @@
+package com.interview.bookapi.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class ImportJobDTO {
+    private String id;
+    private Status status;
+    private BookFileFormat format;
+    private long rowsProcessed;
+    private long rowsImported;
+    private long rowsFailed;
+    private List<ImportRowErrorDTO> errors;
+    private boolean errorsTruncated;
+    private String message;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -1,20 +1,33 @@
 package com.interview.bookapi.entity;
 
+import com.interview.bookapi.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "books")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.BOOK_REGION)
+// UPDATEs set only the changed columns (plus updated_at and version), e.g. for PATCH
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Book {
     
+    // Pooled sequence (50 ids per round trip) instead of IDENTITY, which disables JDBC insert batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "books_seq")
+    @SequenceGenerator(name = "books_seq", sequenceName = "books_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -46,31 +59,65 @@ public class Book {
     
     private String language;
     
+    // Google Books data written by the enrichment worker: not a user edit, so it neither bumps the
+    // version nor conflicts with a concurrent update
+    @OptimisticLock(excluded = true)
     @Column(name = "preview_link")
     private String previewLink;
     
+    @OptimisticLock(excluded = true)
     @Column(name = "info_link")
     private String infoLink;
     
+    @OptimisticLock(excluded = true)
     @Column(name = "is_ebook")
     private Boolean isEbook;
     
+    @OptimisticLock(excluded = true)
     @Column(name = "text_snippet", length = 1000)
     private String textSnippet;
     
+    // When the Google Books fields above were last fetched; null until the enrichment worker has run
+    @OptimisticLock(excluded = true)
+    @Column(name = "enriched_at")
+    private LocalDateTime enrichedAt;
+
+    // Consecutive failed lookups and when the worker may try again; both are cleared by a successful one
+    @OptimisticLock(excluded = true)
+    @Column(name = "enrichment_attempts")
+    private Integer enrichmentAttempts;
+
+    @OptimisticLock(excluded = true)
+    @Column(name = "next_enrichment_at")
+    private LocalDateTime nextEnrichmentAt;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Checked and incremented by every UPDATE, so concurrent writers fail instead of overwriting each other
+    @Version
+    @Column(name = "version")
+    private Long version;
+    
+    // Set by the enrichment worker so its UPDATE leaves updatedAt (and with it the version) alone
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean enrichmentOnly;
+    
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
     }
     
     @PreUpdate
     protected void onUpdate() {
-        this.updatedAt = LocalDateTime.now();
+        if (!enrichmentOnly) {
+            this.updatedAt = LocalDateTime.now();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.interview.bookapi.event;
+
+import java.util.List;
+
+/**
+ * Published by the book service when books are deleted.
+ */
+public record BooksDeletedEvent(List<Long> ids) {
+}
@@ -0,0 +1,12 @@
+package com.interview.bookapi.event;
+
+import com.interview.bookapi.dto.BookDTO;
+
+import java.util.List;
+
+/**
+ * Published by the book service when books are created or updated. Listeners that keep
+ * derived state (search and suggestion indexes) should react after the transaction commits.
+ */
+public record BooksSavedEvent(List<BookDTO> books) {
+}
@@ -0,0 +1,7 @@
+package com.interview.bookapi.exception;
+
+public class GoogleBooksRateLimitException extends RuntimeException {
+    public GoogleBooksRateLimitException(String message) {
+        super(message);
+    }
+}
@@ -1,17 +1,95 @@
 package com.interview.bookapi.repository;
 
+import com.interview.bookapi.dto.BookDTO;
+import com.interview.bookapi.dto.EnrichmentCandidateDTO;
 import com.interview.bookapi.entity.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
+    // Selects only the BookDTO columns straight into DTOs: no managed entities or dirty-checking snapshots
+    String BOOK_DTO = "new com.interview.bookapi.dto.BookDTO(b.id, b.isbn, b.title, b.author, b.description, " +
+            "b.publisher, b.publishedDate, b.pageCount, b.category, b.rating, b.thumbnailUrl, b.language, " +
+            "b.createdAt, b.updatedAt, b.version)";
+
     Page<Book> findByTitleContainingIgnoreCase(String title, Pageable pageable);
     Page<Book> findByAuthorContainingIgnoreCase(String author, Pageable pageable);
     Page<Book> findByCategoryContainingIgnoreCase(String category, Pageable pageable);
     Optional<Book> findByIsbn(String isbn);
+
+    @Query(value = "select " + BOOK_DTO + " from Book b", countQuery = "select count(b) from Book b")
+    Page<BookDTO> findAllBookDTOs(Pageable pageable);
+
+    @Query("select " + BOOK_DTO + " from Book b where b.id in :ids")
+    List<BookDTO> findBookDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Query-cache variants for the first pages of listing and search. Hibernate drops the cached
+    // results (and the page count) as soon as anything is written to the books table.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(value = "select " + BOOK_DTO + " from Book b", countQuery = "select count(b) from Book b")
+    Page<BookDTO> findCachedBookDTOs(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select " + BOOK_DTO + " from Book b where b.id in :ids")
+    List<BookDTO> findCachedBookDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset (seek) pagination: rows strictly after the (sort value, id) of the previous slice.
+    // No count query is issued; the Slice fetches one extra row to know whether more follow.
+    @Query("select " + BOOK_DTO + " from Book b where b.createdAt < :createdAt or (b.createdAt = :createdAt and b.id < :id) " +
+            "order by b.createdAt desc, b.id desc")
+    Slice<BookDTO> findNextByCreatedAt(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("select " + BOOK_DTO + " from Book b where lower(b.title) like :pattern escape '\\' " +
+            "and (b.title > :title or (b.title = :title and b.id > :id)) order by b.title asc, b.id asc")
+    Slice<BookDTO> findNextByTitleLike(@Param("pattern") String pattern, @Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    @Query("select " + BOOK_DTO + " from Book b where lower(b.author) like :pattern escape '\\' " +
+            "and (b.author > :author or (b.author = :author and b.id > :id)) order by b.author asc, b.id asc")
+    Slice<BookDTO> findNextByAuthorLike(@Param("pattern") String pattern, @Param("author") String author, @Param("id") Long id, Pageable pageable);
+
+    @Query("select " + BOOK_DTO + " from Book b where lower(b.category) like :pattern escape '\\' " +
+            "and (b.category > :category or (b.category = :category and b.id > :id)) order by b.category asc, b.id asc")
+    Slice<BookDTO> findNextByCategoryLike(@Param("pattern") String pattern, @Param("category") String category, @Param("id") Long id, Pageable pageable);
+
+    // Never-enriched books first, then the longest stale; books whose lookups failed wait out their
+    // backoff and then queue behind those that have not failed yet
+    @Query("select new com.interview.bookapi.dto.EnrichmentCandidateDTO(b.id, b.isbn) from Book b " +
+            "where b.isbn is not null and b.isbn <> '' and (b.enrichedAt is null or b.enrichedAt < :staleBefore) " +
+            "and (b.nextEnrichmentAt is null or b.nextEnrichmentAt <= :now) " +
+            "order by b.enrichedAt asc nulls first, b.enrichmentAttempts asc nulls first, b.id asc")
+    List<EnrichmentCandidateDTO> findEnrichmentCandidates(@Param("staleBefore") LocalDateTime staleBefore,
+                                                          @Param("now") LocalDateTime now,
+                                                          Pageable pageable);
+
+    @Query("select b.id from Book b where b.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Forward-only, read-only cursor for full-catalog export; must be consumed inside a transaction.
+    // Bypasses the second-level cache so a full scan does not evict the hot books from it.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select b from Book b order by b.id")
+    Stream<Book> streamAllBy();
+
+    // Latest write to the table; lets the search index detect updates it missed while not running
+    @Query("select max(coalesce(b.updatedAt, b.createdAt)) from Book b")
+    LocalDateTime findLastModified();
 }
\ No newline at end of file
@@ -0,0 +1,312 @@
+package com.interview.bookapi.search;
+
+import com.interview.bookapi.dto.BookDTO;
+import com.interview.bookapi.entity.Book;
+import com.interview.bookapi.event.BooksDeletedEvent;
+import com.interview.bookapi.event.BooksSavedEvent;
+import com.interview.bookapi.repository.BookRepository;
+import com.interview.bookapi.util.BookMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene full-text index over title, author, category and description, stored in a
+ * local directory. Kept in sync from {@link BooksSavedEvent}/{@link BooksDeletedEvent} after
+ * commit, and rebuilt from the database at startup when it has missed writes: each commit records
+ * the latest book modification it contains, which must match the database's latest write.
+ */
+@Component
+public class BookSearchIndex {
+
+    public static final String ALL_FIELDS = "all";
+
+    private static final Logger logger = LoggerFactory.getLogger(BookSearchIndex.class);
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String AUTHOR = "author";
+    private static final String CATEGORY = "category";
+    private static final String DESCRIPTION = "description";
+    // Commit user-data key holding the latest updated_at (or created_at) of the indexed books
+    private static final String LAST_MODIFIED = "lastModified";
+    // Field weights when searching all fields
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            TITLE, 3.0f, AUTHOR, 2.0f, CATEGORY, 1.5f, DESCRIPTION, 1.0f);
+    private static final int MAX_RESULT_WINDOW = 10_000;
+    private static final int REBUILD_CLEAR_INTERVAL = 1_000;
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Path indexPath;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final AtomicReference<LocalDateTime> lastModified = new AtomicReference<>();
+    // Pairs the commit user data with the commit it describes
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private FSDirectory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+
+    public BookSearchIndex(
+            BookRepository bookRepository,
+            TransactionTemplate transactionTemplate,
+            EntityManager entityManager,
+            @Value("${book.search.index-path:data/search-index}") String indexPath) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.indexPath = Path.of(indexPath);
+    }
+
+    public record Hits(long totalHits, List<Long> ids) {
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(indexPath);
+        directory = FSDirectory.open(indexPath);
+        indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(indexWriter, null);
+        Iterable<Map.Entry<String, String>> commitData = indexWriter.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (LAST_MODIFIED.equals(entry.getKey())) {
+                    lastModified.set(LocalDateTime.parse(entry.getValue()));
+                }
+            }
+        }
+        logger.info("Opened book search index at {} with {} documents modified up to {}",
+                indexPath.toAbsolutePath(), indexWriter.getDocStats().numDocs, lastModified.get());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() throws IOException {
+        long databaseCount = bookRepository.count();
+        LocalDateTime databaseModified = bookRepository.findLastModified();
+        long indexCount = indexWriter.getDocStats().numDocs;
+        LocalDateTime indexModified = lastModified.get();
+        // Updates keep the count and deletes keep the latest modification, so check both. The index
+        // may hold a more precise timestamp than the column, so only a strictly later write counts.
+        boolean missedWrites = databaseModified != null
+                && (indexModified == null || databaseModified.isAfter(indexModified));
+        if (databaseCount != indexCount || missedWrites) {
+            logger.info("Search index has {} documents modified up to {} but database has {} books modified up to {}, rebuilding",
+                    indexCount, indexModified, databaseCount, databaseModified);
+            rebuild();
+        }
+    }
+
+    public void rebuild() throws IOException {
+        indexWriter.deleteAll();
+        lastModified.set(null);
+        long count = transactionTemplate.execute(status -> {
+            long indexed = 0;
+            try (Stream<Book> books = bookRepository.streamAllBy()) {
+                Iterator<Book> iterator = books.iterator();
+                while (iterator.hasNext()) {
+                    BookDTO book = BookMapper.toBookDTO(iterator.next());
+                    indexWriter.addDocument(toDocument(book));
+                    advanceLastModified(book);
+                    if (++indexed % REBUILD_CLEAR_INTERVAL == 0) {
+                        entityManager.clear();
+                    }
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return indexed;
+        });
+        commitWithLastModified();
+        searcherManager.maybeRefresh();
+        logger.info("Rebuilt book search index with {} documents", count);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksSaved(BooksSavedEvent event) {
+        try {
+            for (BookDTO book : event.books()) {
+                indexWriter.updateDocument(new Term(ID, String.valueOf(book.getId())), toDocument(book));
+                // Only after the document is in, so a commit never claims a write it does not hold
+                advanceLastModified(book);
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException ex) {
+            logger.error("Failed to index {} books", event.books().size(), ex);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksDeleted(BooksDeletedEvent event) {
+        try {
+            Term[] terms = event.ids().stream().map(id -> new Term(ID, String.valueOf(id))).toArray(Term[]::new);
+            indexWriter.deleteDocuments(terms);
+            searcherManager.maybeRefresh();
+        } catch (IOException ex) {
+            logger.error("Failed to remove {} books from the search index", event.ids().size(), ex);
+        }
+    }
+
+    // Changes are searchable immediately (near-real-time reader); commits only make them durable
+    @Scheduled(fixedDelayString = "${book.search.commit-interval:PT30S}")
+    public void commit() throws IOException {
+        if (indexWriter.hasUncommittedChanges()) {
+            commitWithLastModified();
+        }
+    }
+
+    private void commitWithLastModified() throws IOException {
+        // Not synchronized: commit() fsyncs, which would pin a virtual thread to its carrier
+        commitLock.lock();
+        try {
+            LocalDateTime modified = lastModified.get();
+            indexWriter.setLiveCommitData(modified == null ? List.of() : List.of(Map.entry(LAST_MODIFIED, modified.toString())));
+            indexWriter.commit();
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private void advanceLastModified(BookDTO book) {
+        LocalDateTime modified = book.getUpdatedAt() != null ? book.getUpdatedAt() : book.getCreatedAt();
+        if (modified != null) {
+            lastModified.accumulateAndGet(modified, (current, next) -> current == null || next.isAfter(current) ? next : current);
+        }
+    }
+
+    /**
+     * Relevance-ranked search. Every query term must match one of the searched fields, either
+     * exactly, as a prefix or within a small edit distance.
+     *
+     * @param field one of title, author, category, description, or {@link #ALL_FIELDS}
+     */
+    public Hits search(String queryText, String field, int offset, int limit) throws IOException {
+        Query query = buildQuery(queryText, field);
+        if (query == null || offset >= MAX_RESULT_WINDOW) {
+            return new Hits(0, List.of());
+        }
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query, Math.min(offset + limit, MAX_RESULT_WINDOW));
+            long totalHits = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                    ? topDocs.totalHits.value
+                    : searcher.count(query);
+            StoredFields storedFields = searcher.storedFields();
+            List<Long> ids = new ArrayList<>(limit);
+            for (int i = offset; i < topDocs.scoreDocs.length; i++) {
+                Document document = storedFields.document(topDocs.scoreDocs[i].doc, Set.of(ID));
+                ids.add(Long.valueOf(document.get(ID)));
+            }
+            return new Hits(totalHits, ids);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private Query buildQuery(String queryText, String field) throws IOException {
+        Map<String, Float> fields = FIELD_BOOSTS.containsKey(field) ? Map.of(field, 1.0f) : FIELD_BOOSTS;
+        List<String> terms = analyze(queryText);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String text : terms) {
+            BooleanQuery.Builder termQuery = new BooleanQuery.Builder();
+            for (Map.Entry<String, Float> entry : fields.entrySet()) {
+                Term term = new Term(entry.getKey(), text);
+                float boost = entry.getValue();
+                // Exact matches rank above prefix matches, which rank above fuzzy matches
+                termQuery.add(new BoostQuery(new TermQuery(term), boost * 3), BooleanClause.Occur.SHOULD);
+                termQuery.add(new BoostQuery(new PrefixQuery(term), boost * 1.5f), BooleanClause.Occur.SHOULD);
+                if (text.length() >= 4) {
+                    termQuery.add(new BoostQuery(new FuzzyQuery(term, text.length() >= 8 ? 2 : 1), boost), BooleanClause.Occur.SHOULD);
+                }
+            }
+            query.add(termQuery.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        }
+        return terms;
+    }
+
+    private static Document toDocument(BookDTO book) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(book.getId()), Field.Store.YES));
+        addText(document, TITLE, book.getTitle());
+        addText(document, AUTHOR, book.getAuthor());
+        addText(document, CATEGORY, book.getCategory());
+        addText(document, DESCRIPTION, book.getDescription());
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+}
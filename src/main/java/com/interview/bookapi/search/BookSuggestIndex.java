@@ -0,0 +1,191 @@
+package com.interview.bookapi.search;
+
+import com.interview.bookapi.dto.BookDTO;
+import com.interview.bookapi.dto.BookSuggestionDTO;
+import com.interview.bookapi.entity.Book;
+import com.interview.bookapi.event.BooksDeletedEvent;
+import com.interview.bookapi.event.BooksSavedEvent;
+import com.interview.bookapi.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory typeahead index over book titles and authors. Keys are normalized strings in
+ * sorted skip lists, so a prefix lookup is a range scan that never touches the database.
+ * Whole-value matches rank above matches on a later word ("gat" finds "The Great Gatsby"
+ * after titles starting with "gat").
+ */
+@Component
+public class BookSuggestIndex {
+
+    public static final int MAX_LIMIT = 50;
+
+    private static final Logger logger = LoggerFactory.getLogger(BookSuggestIndex.class);
+    // Separates the normalized text from the entry identity inside a key; sorts before any character
+    private static final char KEY_SEPARATOR = '\u0000';
+    // Sorts after the separator that precedes the book id, i.e. after every key of a text and field
+    private static final char SEEK_PAST_FIELD = '\u0001';
+    private static final int REBUILD_CLEAR_INTERVAL = 1_000;
+
+    private record Entry(BookSuggestionDTO.Field field, String text, long bookId) {
+    }
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    // Normalized full value -> entry
+    private final ConcurrentSkipListMap<String, Entry> phrases = new ConcurrentSkipListMap<>();
+    // Normalized value from the second word onwards -> entry
+    private final ConcurrentSkipListMap<String, Entry> words = new ConcurrentSkipListMap<>();
+    // Keys owned by each book, so updates and deletes can remove the old ones
+    private final Map<Long, List<String>> phraseKeysByBook = new ConcurrentHashMap<>();
+    private final Map<Long, List<String>> wordKeysByBook = new ConcurrentHashMap<>();
+
+    public BookSuggestIndex(
+            BookRepository bookRepository,
+            TransactionTemplate transactionTemplate,
+            EntityManager entityManager) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        long count = transactionTemplate.execute(status -> {
+            long indexed = 0;
+            try (Stream<Book> books = bookRepository.streamAllBy()) {
+                Iterator<Book> iterator = books.iterator();
+                while (iterator.hasNext()) {
+                    Book book = iterator.next();
+                    put(book.getId(), book.getTitle(), book.getAuthor());
+                    if (++indexed % REBUILD_CLEAR_INTERVAL == 0) {
+                        entityManager.clear();
+                    }
+                }
+            }
+            return indexed;
+        });
+        logger.info("Built suggestion index for {} books ({} keys) in {} ms",
+                count, phrases.size() + words.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksSaved(BooksSavedEvent event) {
+        for (BookDTO book : event.books()) {
+            put(book.getId(), book.getTitle(), book.getAuthor());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksDeleted(BooksDeletedEvent event) {
+        for (Long id : event.ids()) {
+            remove(id);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} distinct suggestions whose title or author, or one of its
+     * words, starts with {@code prefix} (case-insensitive).
+     */
+    public List<BookSuggestionDTO> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        int max = Math.min(Math.max(limit, 0), MAX_LIMIT);
+        if (normalized.isEmpty() || max == 0) {
+            return List.of();
+        }
+        // Keyed by field and display text so an author shared by many books is suggested once
+        Map<String, BookSuggestionDTO> suggestions = new LinkedHashMap<>();
+        collect(phrases, normalized, max, suggestions);
+        collect(words, normalized, max, suggestions);
+        return new ArrayList<>(suggestions.values());
+    }
+
+    public int size() {
+        return phraseKeysByBook.size();
+    }
+
+    private static void collect(ConcurrentSkipListMap<String, Entry> map, String prefix, int max,
+                                Map<String, BookSuggestionDTO> suggestions) {
+        String from = prefix;
+        while (suggestions.size() < max) {
+            Map.Entry<String, Entry> mapEntry = map.ceilingEntry(from);
+            if (mapEntry == null || !mapEntry.getKey().startsWith(prefix)) {
+                return;
+            }
+            Entry entry = mapEntry.getValue();
+            suggestions.computeIfAbsent(entry.field() + ":" + entry.text(), key -> new BookSuggestionDTO(
+                    entry.text(), entry.field(),
+                    entry.field() == BookSuggestionDTO.Field.TITLE ? entry.bookId() : null));
+            // Keys of other books with the same text and field follow this one; seek past all of
+            // them, so a prefix hitting an author with thousands of books costs one step, not thousands
+            String key = mapEntry.getKey();
+            from = key.substring(0, key.indexOf(KEY_SEPARATOR)) + KEY_SEPARATOR + entry.field().name() + SEEK_PAST_FIELD;
+        }
+    }
+
+    // Writers are rare (create/update/delete); the lock keeps one book's old and new keys from interleaving
+    private synchronized void put(Long bookId, String title, String author) {
+        remove(bookId);
+        List<String> phraseKeys = new ArrayList<>(2);
+        List<String> wordKeys = new ArrayList<>();
+        add(bookId, BookSuggestionDTO.Field.TITLE, title, phraseKeys, wordKeys);
+        add(bookId, BookSuggestionDTO.Field.AUTHOR, author, phraseKeys, wordKeys);
+        phraseKeysByBook.put(bookId, phraseKeys);
+        wordKeysByBook.put(bookId, wordKeys);
+    }
+
+    private synchronized void remove(Long bookId) {
+        List<String> phraseKeys = phraseKeysByBook.remove(bookId);
+        if (phraseKeys != null) {
+            phraseKeys.forEach(phrases::remove);
+        }
+        List<String> wordKeys = wordKeysByBook.remove(bookId);
+        if (wordKeys != null) {
+            wordKeys.forEach(words::remove);
+        }
+    }
+
+    private void add(Long bookId, BookSuggestionDTO.Field field, String text,
+                     List<String> phraseKeys, List<String> wordKeys) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Entry entry = new Entry(field, text.strip(), bookId);
+        String suffix = KEY_SEPARATOR + field.name() + KEY_SEPARATOR + bookId;
+        String phraseKey = normalized + suffix;
+        phrases.put(phraseKey, entry);
+        phraseKeys.add(phraseKey);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            String wordKey = normalized.substring(i + 1) + suffix;
+            words.put(wordKey, entry);
+            wordKeys.add(wordKey);
+        }
+    }
+
+    // Lower-cased with runs of whitespace collapsed, so word boundaries are single spaces
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
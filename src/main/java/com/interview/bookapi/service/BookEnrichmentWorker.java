@@ -0,0 +1,198 @@
+package com.interview.bookapi.service;
+
+import com.interview.bookapi.dto.EnrichmentCandidateDTO;
+import com.interview.bookapi.dto.GoogleBookResponse;
+import com.interview.bookapi.entity.Book;
+import com.interview.bookapi.exception.GoogleBooksRateLimitException;
+import com.interview.bookapi.repository.BookRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Copies Google Books data (info/preview links, e-book flag, text snippet) onto book rows in the
+ * background, so book details can be served from the database. Each run takes a batch of books
+ * with an ISBN that were never enriched or are older than {@code stale-after}, looks them up with
+ * bounded concurrency in the rate limiter's background lane, and writes the results in one transaction.
+ * A failed lookup is recorded on the book, which then waits out an exponential backoff (capped at
+ * {@code stale-after}) before it is tried again. Runs on its own thread, since a paced run can take minutes.
+ */
+@Component
+@ConditionalOnProperty(name = "book.enrichment.enabled", havingValue = "true", matchIfMissing = true)
+public class BookEnrichmentWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookEnrichmentWorker.class);
+
+    // item is null when Google Books has no volume for the ISBN (or rejected the query); the book is
+    // still marked as enriched. failed means the lookup should be retried after a backoff.
+    private record Result(Long bookId, String isbn, GoogleBookResponse.Item item, boolean failed) {
+    }
+
+    private final BookRepository bookRepository;
+    private final GoogleBooksApiService googleBooksApiService;
+    private final GoogleBooksRateLimiter rateLimiter;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int concurrency;
+    private final Duration staleAfter;
+    private final Duration interval;
+    private final Duration retryBackoff;
+    private final ScheduledExecutorService scheduler;
+
+    public BookEnrichmentWorker(
+            BookRepository bookRepository,
+            GoogleBooksApiService googleBooksApiService,
+            GoogleBooksRateLimiter rateLimiter,
+            TransactionTemplate transactionTemplate,
+            @Value("${book.enrichment.batch-size:200}") int batchSize,
+            @Value("${book.enrichment.concurrency:4}") int concurrency,
+            @Value("${book.enrichment.stale-after:P30D}") Duration staleAfter,
+            @Value("${book.enrichment.interval:PT30S}") Duration interval,
+            @Value("${book.enrichment.retry-backoff:PT5M}") Duration retryBackoff) {
+        this.bookRepository = bookRepository;
+        this.googleBooksApiService = googleBooksApiService;
+        this.rateLimiter = rateLimiter;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.staleAfter = staleAfter;
+        this.interval = interval;
+        this.retryBackoff = retryBackoff;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "book-enrichment");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::runEnrichment, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // An exception escaping a scheduleWithFixedDelay task cancels all later runs
+    private void runEnrichment() {
+        try {
+            enrichPendingBooks();
+        } catch (RuntimeException ex) {
+            logger.error("Enrichment run failed", ex);
+        }
+    }
+
+    public void enrichPendingBooks() {
+        if (!rateLimiter.hasQuota(LookupPriority.BACKGROUND)) {
+            logger.debug("Background Google Books quota used up for today, skipping enrichment run");
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<EnrichmentCandidateDTO> candidates = bookRepository.findEnrichmentCandidates(
+                now.minus(staleAfter), now, PageRequest.of(0, batchSize));
+        if (candidates.isEmpty()) {
+            return;
+        }
+        logger.info("Enriching {} books with Google Books data", candidates.size());
+
+        // Pacing comes from the rate limiter's background lane
+        List<Result> results = Flux.fromIterable(candidates)
+                .flatMap(this::lookup, concurrency)
+                .collectList()
+                .block();
+        if (results == null || results.isEmpty()) {
+            return;
+        }
+
+        Integer enriched = transactionTemplate.execute(status -> {
+            Map<Long, Book> books = bookRepository.findAllById(results.stream().map(Result::bookId).toList()).stream()
+                    .collect(Collectors.toMap(Book::getId, Function.identity()));
+            int applied = 0;
+            for (Result result : results) {
+                Book book = books.get(result.bookId());
+                // The lookups ran outside the transaction; if the ISBN has changed since, the outcome
+                // belongs to the old one and the book is left for a later run
+                if (book == null || !Objects.equals(book.getIsbn(), result.isbn())) {
+                    continue;
+                }
+                if (result.failed()) {
+                    int attempts = book.getEnrichmentAttempts() == null ? 1 : book.getEnrichmentAttempts() + 1;
+                    book.setEnrichmentAttempts(attempts);
+                    book.setNextEnrichmentAt(now.plus(backoff(attempts)));
+                } else {
+                    applyGoogleBooksInfo(book, result.item());
+                    book.setEnrichedAt(now);
+                    book.setEnrichmentAttempts(null);
+                    book.setNextEnrichmentAt(null);
+                    applied++;
+                }
+                book.setEnrichmentOnly(true);
+            }
+            // Dirty checking issues the UPDATEs as JDBC batches on flush
+            bookRepository.flush();
+            return applied;
+        });
+        logger.info("Enriched {} of {} books", enriched, candidates.size());
+    }
+
+    private Mono<Result> lookup(EnrichmentCandidateDTO candidate) {
+        return googleBooksApiService.searchBooksByIsbn(candidate.isbn(), LookupPriority.BACKGROUND)
+                .map(response -> new Result(candidate.id(), candidate.isbn(),
+                        response.getItems() == null || response.getItems().isEmpty() ? null : response.getItems().get(0), false))
+                .onErrorResume(ex -> {
+                    if (ex instanceof GoogleBooksRateLimitException) {
+                        // Our own throttling, not a problem with the book: the next run picks it up as it is
+                        logger.debug("Google Books lookup for book {} throttled: {}", candidate.id(), ex.getMessage());
+                        return Mono.empty();
+                    }
+                    if (isTerminal(ex)) {
+                        // Retrying cannot help (e.g. a malformed ISBN); stored as enriched without data
+                        logger.warn("Google Books rejected the lookup for book {} (ISBN {}): {}", candidate.id(), candidate.isbn(), ex.getMessage());
+                        return Mono.just(new Result(candidate.id(), candidate.isbn(), null, false));
+                    }
+                    logger.warn("Google Books lookup failed for book {} (ISBN {}): {}", candidate.id(), candidate.isbn(), ex.getMessage());
+                    return Mono.just(new Result(candidate.id(), candidate.isbn(), null, true));
+                });
+    }
+
+    private static boolean isTerminal(Throwable ex) {
+        return ex instanceof WebClientResponseException responseException
+                && (responseException.getStatusCode().value() == 400 || responseException.getStatusCode().value() == 404);
+    }
+
+    // retry-backoff, doubled with each further failure, never longer than stale-after
+    private Duration backoff(int attempts) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(staleAfter) > 0 ? staleAfter : backoff;
+    }
+
+    private static void applyGoogleBooksInfo(Book book, GoogleBookResponse.Item item) {
+        GoogleBookResponse.VolumeInfo volumeInfo = item == null ? null : item.getVolumeInfo();
+        book.setInfoLink(volumeInfo == null ? null : volumeInfo.getInfoLink());
+        book.setPreviewLink(volumeInfo == null ? null : volumeInfo.getPreviewLink());
+        book.setTextSnippet(item == null || item.getSearchInfo() == null ? null : item.getSearchInfo().getTextSnippet());
+        book.setIsEbook(item == null || item.getSaleInfo() == null ? null : item.getSaleInfo().getIsEbook());
+    }
+}
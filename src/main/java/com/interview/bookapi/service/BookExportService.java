@@ -0,0 +1,10 @@
+package com.interview.bookapi.service;
+
+import com.interview.bookapi.dto.BookFileFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BookExportService {
+    long exportBooks(BookFileFormat format, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,86 @@
+package com.interview.bookapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.interview.bookapi.dto.BookDTO;
+import com.interview.bookapi.dto.BookFileFormat;
+import com.interview.bookapi.entity.Book;
+import com.interview.bookapi.repository.BookRepository;
+import com.interview.bookapi.util.BookCsvMapper;
+import com.interview.bookapi.util.BookMapper;
+import com.interview.bookapi.util.CsvWriter;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class BookExportServiceImpl implements BookExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookExportServiceImpl.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter bookWriter;
+    private final int flushInterval;
+
+    public BookExportServiceImpl(
+            BookRepository bookRepository,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            @Value("${book.export.flush-interval:500}") int flushInterval) {
+        this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+        this.bookWriter = objectMapper.writerFor(BookDTO.class);
+        this.flushInterval = flushInterval;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportBooks(BookFileFormat format, OutputStream outputStream) throws IOException {
+        logger.info("Exporting book catalog as {}", format);
+        long count = 0;
+        // Forward-only cursor; the persistence context is cleared every flushInterval rows
+        // so memory stays flat however large the catalog is
+        try (Stream<Book> books = bookRepository.streamAllBy()) {
+            Iterator<Book> iterator = books.iterator();
+            if (format == BookFileFormat.NDJSON) {
+                OutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+                while (iterator.hasNext()) {
+                    out.write(bookWriter.writeValueAsBytes(BookMapper.toBookDTO(iterator.next())));
+                    out.write('\n');
+                    if (++count % flushInterval == 0) {
+                        entityManager.clear();
+                        out.flush();
+                    }
+                }
+                out.flush();
+            } else {
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+                CsvWriter csvWriter = new CsvWriter(writer);
+                csvWriter.writeRecord(BookCsvMapper.HEADER);
+                while (iterator.hasNext()) {
+                    csvWriter.writeRecord(BookCsvMapper.toRecord(BookMapper.toBookDTO(iterator.next())));
+                    if (++count % flushInterval == 0) {
+                        entityManager.clear();
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            }
+        }
+        logger.info("Exported {} books as {}", count, format);
+        return count;
+    }
+}
@@ -0,0 +1,11 @@
+package com.interview.bookapi.service;
+
+import com.interview.bookapi.dto.ImportJobDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BookImportService {
+    ImportJobDTO startImport(InputStream content, String contentType) throws IOException;
+    ImportJobDTO getImportJob(String jobId);
+}
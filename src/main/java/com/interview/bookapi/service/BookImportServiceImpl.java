@@ -0,0 +1,229 @@
+package com.interview.bookapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.bookapi.dto.BatchItemResultDTO;
+import com.interview.bookapi.dto.BatchResultDTO;
+import com.interview.bookapi.dto.BookDTO;
+import com.interview.bookapi.dto.BookFileFormat;
+import com.interview.bookapi.dto.ImportJobDTO;
+import com.interview.bookapi.exception.ImportJobNotFoundException;
+import com.interview.bookapi.exception.PayloadTooLargeException;
+import com.interview.bookapi.util.BookCsvMapper;
+import com.interview.bookapi.util.CsvReader;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class BookImportServiceImpl implements BookImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookImportServiceImpl.class);
+    private final BookService bookService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final Duration retention;
+    private final DataSize maxSize;
+    private final ExecutorService executor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public BookImportServiceImpl(
+            BookService bookService,
+            ObjectMapper objectMapper,
+            @Value("${book.batch.chunk-size:500}") int chunkSize,
+            @Value("${book.import.max-concurrent:2}") int maxConcurrent,
+            @Value("${book.import.max-errors:1000}") int maxErrors,
+            @Value("${book.import.retention:PT1H}") Duration retention,
+            @Value("${book.import.max-size:100MB}") DataSize maxSize) {
+        this.bookService = bookService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.retention = retention;
+        this.maxSize = maxSize;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrent, runnable -> {
+            Thread thread = new Thread(runnable, "book-import-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public ImportJobDTO startImport(InputStream content, String contentType) throws IOException {
+        BookFileFormat format = BookFileFormat.fromContentType(contentType);
+        // Spool the upload to disk so the request finishes quickly and the file is never held in memory
+        Path file = Files.createTempFile("book-import-", format.getExtension());
+        try {
+            spool(content, file);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), format, maxErrors);
+        jobs.put(job.getId(), job);
+        logger.info("Import job {} accepted ({}, {} bytes)", job.getId(), format, Files.size(file));
+        executor.execute(() -> runImport(job, file));
+        return job.toDTO();
+    }
+
+    // Stops as soon as the upload passes max-size, so an oversize body never fills the disk
+    private void spool(InputStream content, Path file) throws IOException {
+        long limit = maxSize.toBytes();
+        long total = 0;
+        byte[] buffer = new byte[8192];
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                total += read;
+                if (total > limit) {
+                    throw new PayloadTooLargeException("Import file exceeds the maximum size of " + maxSize);
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    @Override
+    public ImportJobDTO getImportJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ImportJobNotFoundException("Import job not found with ID: " + jobId);
+        }
+        return job.toDTO();
+    }
+
+    @Scheduled(fixedDelayString = "${book.import.cleanup-interval:PT10M}")
+    public void removeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void runImport(ImportJob job, Path file) {
+        job.start();
+        logger.info("Import job {} started", job.getId());
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            ChunkWriter writer = new ChunkWriter(job);
+            if (job.getFormat() == BookFileFormat.NDJSON) {
+                readNdjson(reader, writer);
+            } else {
+                readCsv(reader, writer);
+            }
+            writer.flush();
+            job.complete();
+            ImportJobDTO summary = job.toDTO();
+            logger.info("Import job {} completed: {} imported, {} failed",
+                    job.getId(), summary.getRowsImported(), summary.getRowsFailed());
+        } catch (Exception ex) {
+            logger.error("Import job {} failed", job.getId(), ex);
+            job.fail(ex.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                logger.warn("Could not delete import file {}", file, ex);
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ChunkWriter writer) throws IOException {
+        String line;
+        long row = 0;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                writer.add(row, objectMapper.readValue(line, BookDTO.class));
+            } catch (JsonProcessingException ex) {
+                writer.job.recordError(row, "Malformed JSON: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ChunkWriter writer) throws IOException {
+        CsvReader csvReader = new CsvReader(reader);
+        List<String> header = csvReader.readRecord();
+        if (header == null) {
+            return;
+        }
+        BookCsvMapper mapper = new BookCsvMapper(header);
+        List<String> record;
+        while ((record = csvReader.readRecord()) != null) {
+            long row = csvReader.getRecordStartLine();
+            try {
+                writer.add(row, mapper.toBookDTO(record));
+            } catch (IllegalArgumentException ex) {
+                writer.job.recordError(row, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Collects parsed rows and hands them to the bulk create path one chunk at a time. Parsing
+     * only resumes once the previous chunk has been committed, so at most one chunk is in memory.
+     */
+    private class ChunkWriter {
+        private final ImportJob job;
+        private final List<BookDTO> books = new ArrayList<>(chunkSize);
+        private final List<Long> rows = new ArrayList<>(chunkSize);
+
+        ChunkWriter(ImportJob job) {
+            this.job = job;
+        }
+
+        void add(long row, BookDTO bookDTO) {
+            books.add(bookDTO);
+            rows.add(row);
+            if (books.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (books.isEmpty()) {
+                return;
+            }
+            BatchResultDTO result = bookService.createBooks(books);
+            for (BatchItemResultDTO item : result.getResults()) {
+                if (item.getStatus().isSuccess()) {
+                    job.recordImported();
+                } else {
+                    job.recordError(rows.get(item.getIndex()), item.getMessage());
+                }
+            }
+            books.clear();
+            rows.clear();
+        }
+    }
+}
@@ -1,15 +1,34 @@
 package com.interview.bookapi.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.interview.bookapi.dto.BatchResultDTO;
 import com.interview.bookapi.dto.BookDTO;
 import com.interview.bookapi.dto.BookDetailDTO;
+import com.interview.bookapi.dto.BookSuggestionDTO;
+import com.interview.bookapi.dto.CursorPageDTO;
 import org.springframework.data.domain.Page;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 public interface BookService {
     BookDTO createBook(BookDTO bookDTO);
     BookDTO updateBook(Long id, BookDTO bookDTO);
+    BookDTO updateBook(Long id, BookDTO bookDTO, Long expectedVersion);
+    BookDTO patchBook(Long id, JsonNode patch, Long expectedVersion);
     void deleteBook(Long id);
+    BatchResultDTO createBooks(List<BookDTO> bookDTOs);
+    BatchResultDTO updateBooks(List<BookDTO> bookDTOs);
+    BatchResultDTO deleteBooks(List<Long> ids);
     BookDTO getBookById(Long id);
     Page<BookDTO> getAllBooks(int page, int size);
     Page<BookDTO> searchBooks(String query, String searchBy, int page, int size);
+    CursorPageDTO<BookDTO> getAllBooks(String cursor, int size);
+    CursorPageDTO<BookDTO> searchBooks(String query, String searchBy, String cursor, int size);
+    List<BookSuggestionDTO> suggestBooks(String prefix, int limit);
     BookDetailDTO getBookDetailsWithGoogleBooksInfo(Long id);
+    BookDetailDTO getStoredBookDetails(Long id);
+    Mono<BookDetailDTO> getBookDetailsWithGoogleBooksInfoAsync(Long id);
+    Mono<BookDetailDTO> enrichBookDetailsAsync(BookDetailDTO storedDetails);
+    List<BookDetailDTO> getBookDetailsWithGoogleBooksInfo(List<BookDTO> books);
 }
\ No newline at end of file
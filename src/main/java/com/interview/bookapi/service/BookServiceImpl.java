@@ -1,45 +1,128 @@
 package com.interview.bookapi.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.interview.bookapi.dto.BatchItemResultDTO;
+import com.interview.bookapi.dto.BatchResultDTO;
 import com.interview.bookapi.dto.BookDTO;
 import com.interview.bookapi.dto.BookDetailDTO;
+import com.interview.bookapi.dto.BookSuggestionDTO;
+import com.interview.bookapi.dto.CursorPageDTO;
 import com.interview.bookapi.dto.GoogleBookResponse;
 import com.interview.bookapi.entity.Book;
+import com.interview.bookapi.event.BooksDeletedEvent;
+import com.interview.bookapi.event.BooksSavedEvent;
 import com.interview.bookapi.exception.BookNotFoundException;
+import com.interview.bookapi.exception.InvalidRequestException;
+import com.interview.bookapi.exception.PreconditionFailedException;
 import com.interview.bookapi.repository.BookRepository;
+import com.interview.bookapi.search.BookSearchIndex;
+import com.interview.bookapi.search.BookSuggestIndex;
+import com.interview.bookapi.util.BookMapper;
+import com.interview.bookapi.util.KeysetCursor;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "book.service", histogram = true)
 public class BookServiceImpl implements BookService {
 
     private static final Logger logger = LoggerFactory.getLogger(BookServiceImpl.class);
+    // Seek start for the first keyset slice: newest-first listing starts after the latest
+    // possible timestamp, ascending search starts after the empty string
+    private static final LocalDateTime KEYSET_LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    // BookDTO fields a merge patch may set; id and timestamps are managed, version is a precondition
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("isbn", "title", "author", "description",
+            "publisher", "publishedDate", "pageCount", "category", "rating", "thumbnailUrl", "language");
     private final BookRepository bookRepository;
     private final GoogleBooksApiService googleBooksApiService;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggestIndex bookSuggestIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchChunkSize;
+    private final int batchMaxSize;
+    private final int enrichConcurrency;
+    private final Duration enrichLookupTimeout;
+    private final Duration enrichPageDeadline;
+    private final int cachedPages;
 
-    public BookServiceImpl(BookRepository bookRepository, GoogleBooksApiService googleBooksApiService) {
+    public BookServiceImpl(
+            BookRepository bookRepository,
+            GoogleBooksApiService googleBooksApiService,
+            BookSearchIndex bookSearchIndex,
+            BookSuggestIndex bookSuggestIndex,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${book.batch.chunk-size:500}") int batchChunkSize,
+            @Value("${book.batch.max-size:50000}") int batchMaxSize,
+            @Value("${book.enrich.concurrency:8}") int enrichConcurrency,
+            @Value("${book.enrich.lookup-timeout:PT2S}") Duration enrichLookupTimeout,
+            @Value("${book.enrich.page-deadline:PT3S}") Duration enrichPageDeadline,
+            @Value("${book.cache.query.pages:3}") int cachedPages) {
         this.bookRepository = bookRepository;
         this.googleBooksApiService = googleBooksApiService;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookSuggestIndex = bookSuggestIndex;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchChunkSize = batchChunkSize;
+        this.batchMaxSize = batchMaxSize;
+        this.enrichConcurrency = enrichConcurrency;
+        this.enrichLookupTimeout = enrichLookupTimeout;
+        this.enrichPageDeadline = enrichPageDeadline;
+        this.cachedPages = cachedPages;
     }
 
     @Override
     @Transactional
     public BookDTO createBook(BookDTO bookDTO) {
         logger.info("Creating new book: {}", bookDTO.getTitle());
-        Book book = new Book();
-        BeanUtils.copyProperties(bookDTO, book);
-        book = bookRepository.save(book);
-        BookDTO savedBookDTO = new BookDTO();
-        BeanUtils.copyProperties(book, savedBookDTO);
+        Book book = bookRepository.save(BookMapper.toNewBook(bookDTO));
+        BookDTO savedBookDTO = BookMapper.toBookDTO(book);
+        eventPublisher.publishEvent(new BooksSavedEvent(List.of(savedBookDTO)));
         logger.info("Book created successfully with ID: {}", savedBookDTO.getId());
         return savedBookDTO;
     }
@@ -47,19 +130,97 @@ public class BookServiceImpl implements BookService {
     @Override
     @Transactional
     public BookDTO updateBook(Long id, BookDTO bookDTO) {
+        return updateBook(id, bookDTO, null);
+    }
+
+    @Override
+    @Transactional
+    public BookDTO updateBook(Long id, BookDTO bookDTO, Long expectedVersion) {
         logger.info("Updating book with ID: {}", id);
-        Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new BookNotFoundException("Book not found with ID: " + id));
+        Book book = findForUpdate(id, expectedVersion, bookDTO.getVersion());
         
-        BeanUtils.copyProperties(bookDTO, book, "id", "createdAt");
-        book = bookRepository.save(book);
+        applyUpdate(bookDTO, book);
+        // The managed entity needs no merge; flushing now puts the new version and updatedAt in the response
+        flushUpdate(id, expectedVersion);
         
-        BookDTO updatedBookDTO = new BookDTO();
-        BeanUtils.copyProperties(book, updatedBookDTO);
+        BookDTO updatedBookDTO = BookMapper.toBookDTO(book);
+        eventPublisher.publishEvent(new BooksSavedEvent(List.of(updatedBookDTO)));
         logger.info("Book updated successfully with ID: {}", updatedBookDTO.getId());
         return updatedBookDTO;
     }
 
+    @Override
+    @Transactional
+    public BookDTO patchBook(Long id, JsonNode patch, Long expectedVersion) {
+        logger.info("Patching book with ID: {}", id);
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidRequestException("Merge patch must be a JSON object");
+        }
+        ObjectNode fields = ((ObjectNode) patch).deepCopy();
+        JsonNode version = fields.remove("version");
+        fields.fieldNames().forEachRemaining(field -> {
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new InvalidRequestException("Field cannot be patched: " + field);
+            }
+        });
+        Book book = findForUpdate(id, expectedVersion, version != null && version.canConvertToLong() ? version.asLong() : null);
+        
+        // RFC 7396 on a flat object: supplied fields replace the current value, explicit nulls clear it
+        BookDTO current = BookMapper.toBookDTO(book);
+        BookDTO patched;
+        try {
+            patched = objectMapper.readerForUpdating(BookMapper.toBookDTO(book)).readValue(fields);
+        } catch (IOException ex) {
+            throw new InvalidRequestException("Invalid merge patch: " + mostSpecificMessage(ex));
+        }
+        String violations = validate(patched);
+        if (violations != null) {
+            throw new InvalidRequestException(violations);
+        }
+        if (patched.equals(current)) {
+            logger.info("Patch leaves book {} unchanged", id);
+            return current;
+        }
+        
+        // With @DynamicUpdate the UPDATE only sets the columns whose values actually changed
+        applyUpdate(patched, book);
+        flushUpdate(id, expectedVersion);
+        
+        BookDTO patchedBookDTO = BookMapper.toBookDTO(book);
+        eventPublisher.publishEvent(new BooksSavedEvent(List.of(patchedBookDTO)));
+        logger.info("Book patched successfully with ID: {}", id);
+        return patchedBookDTO;
+    }
+
+    // Normally a second-level cache hit, so the UPDATE is the only statement sent. No lock is
+    // taken: its "where version = ?" makes a concurrent writer fail rather than be overwritten.
+    private Book findForUpdate(Long id, Long expectedVersion, Long bodyVersion) {
+        Book book = bookRepository.findById(id)
+                .orElseThrow(() -> new BookNotFoundException("Book not found with ID: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(book.getVersion())) {
+            throw new PreconditionFailedException("Book " + id + " is at version " + book.getVersion()
+                    + ", If-Match expected version " + expectedVersion);
+        }
+        if (bodyVersion != null && !bodyVersion.equals(book.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Book.class, id);
+        }
+        return book;
+    }
+
+    // A writer that commits between the version check and the UPDATE makes the flush fail; under
+    // If-Match that is still a failed precondition rather than a conflict
+    private void flushUpdate(Long id, Long expectedVersion) {
+        try {
+            bookRepository.flush();
+        } catch (OptimisticLockingFailureException ex) {
+            if (expectedVersion == null) {
+                throw ex;
+            }
+            throw new PreconditionFailedException("Book " + id + " was modified concurrently, If-Match expected version "
+                    + expectedVersion);
+        }
+    }
+
     @Override
     @Transactional
     public void deleteBook(Long id) {
@@ -68,9 +229,217 @@ public class BookServiceImpl implements BookService {
             throw new BookNotFoundException("Book not found with ID: " + id);
         }
         bookRepository.deleteById(id);
+        eventPublisher.publishEvent(new BooksDeletedEvent(List.of(id)));
         logger.info("Book deleted successfully with ID: {}", id);
     }
 
+    @Override
+    public BatchResultDTO createBooks(List<BookDTO> bookDTOs) {
+        logger.info("Creating {} books in batch", bookDTOs.size());
+        checkBatchSize(bookDTOs.size());
+        BatchResultDTO result = new BatchResultDTO();
+        List<Integer> validIndexes = validateBatch(bookDTOs, result, false);
+
+        for (List<Integer> chunk : partition(validIndexes)) {
+            try {
+                // Every row in the chunk goes out in JDBC batches and commits together
+                List<Book> saved = transactionTemplate.execute(status -> {
+                    List<Book> books = chunk.stream().map(i -> BookMapper.toNewBook(bookDTOs.get(i))).toList();
+                    List<Book> persisted = bookRepository.saveAll(books);
+                    bookRepository.flush();
+                    eventPublisher.publishEvent(new BooksSavedEvent(persisted.stream().map(BookMapper::toBookDTO).toList()));
+                    return persisted;
+                });
+                for (int k = 0; k < chunk.size(); k++) {
+                    result.addResult(chunk.get(k), saved.get(k).getId(), BatchItemResultDTO.Status.CREATED, null);
+                }
+            } catch (RuntimeException ex) {
+                // One bad row rolls back the whole chunk, so retry its rows one by one
+                logger.warn("Batch create of {} books failed, retrying individually: {}", chunk.size(), mostSpecificMessage(ex));
+                for (Integer index : chunk) {
+                    try {
+                        Book saved = transactionTemplate.execute(status -> {
+                            Book persisted = bookRepository.saveAndFlush(BookMapper.toNewBook(bookDTOs.get(index)));
+                            eventPublisher.publishEvent(new BooksSavedEvent(List.of(BookMapper.toBookDTO(persisted))));
+                            return persisted;
+                        });
+                        result.addResult(index, saved.getId(), BatchItemResultDTO.Status.CREATED, null);
+                    } catch (RuntimeException itemEx) {
+                        result.addResult(index, null, BatchItemResultDTO.Status.FAILED, mostSpecificMessage(itemEx));
+                    }
+                }
+            }
+        }
+
+        result.sortResults();
+        logger.info("Batch create finished: {} created, {} failed", result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    @Override
+    public BatchResultDTO updateBooks(List<BookDTO> bookDTOs) {
+        logger.info("Updating {} books in batch", bookDTOs.size());
+        checkBatchSize(bookDTOs.size());
+        BatchResultDTO result = new BatchResultDTO();
+        List<Integer> validIndexes = validateBatch(bookDTOs, result, true);
+
+        for (List<Integer> chunk : partition(validIndexes)) {
+            try {
+                Set<Long> missingIds = transactionTemplate.execute(status -> {
+                    Set<Long> ids = chunk.stream().map(i -> bookDTOs.get(i).getId()).collect(Collectors.toSet());
+                    Map<Long, Book> existing = bookRepository.findAllById(ids).stream()
+                            .collect(Collectors.toMap(Book::getId, Function.identity()));
+                    Set<Long> missing = new HashSet<>(ids);
+                    missing.removeAll(existing.keySet());
+                    for (Integer index : chunk) {
+                        BookDTO bookDTO = bookDTOs.get(index);
+                        Book book = existing.get(bookDTO.getId());
+                        if (book != null) {
+                            // A stale item fails the chunk; the per-item retry reports it as FAILED
+                            if (bookDTO.getVersion() != null && !bookDTO.getVersion().equals(book.getVersion())) {
+                                throw new ObjectOptimisticLockingFailureException(Book.class, book.getId());
+                            }
+                            applyUpdate(bookDTO, book);
+                        }
+                    }
+                    // Dirty checking issues the UPDATEs as JDBC batches on flush
+                    bookRepository.flush();
+                    eventPublisher.publishEvent(new BooksSavedEvent(existing.values().stream().map(BookMapper::toBookDTO).toList()));
+                    return missing;
+                });
+                for (Integer index : chunk) {
+                    Long id = bookDTOs.get(index).getId();
+                    if (missingIds.contains(id)) {
+                        result.addResult(index, id, BatchItemResultDTO.Status.NOT_FOUND, "Book not found with ID: " + id);
+                    } else {
+                        result.addResult(index, id, BatchItemResultDTO.Status.UPDATED, null);
+                    }
+                }
+            } catch (RuntimeException ex) {
+                logger.warn("Batch update of {} books failed, retrying individually: {}", chunk.size(), mostSpecificMessage(ex));
+                for (Integer index : chunk) {
+                    BookDTO bookDTO = bookDTOs.get(index);
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> updateBook(bookDTO.getId(), bookDTO));
+                        result.addResult(index, bookDTO.getId(), BatchItemResultDTO.Status.UPDATED, null);
+                    } catch (BookNotFoundException notFound) {
+                        result.addResult(index, bookDTO.getId(), BatchItemResultDTO.Status.NOT_FOUND, notFound.getMessage());
+                    } catch (RuntimeException itemEx) {
+                        result.addResult(index, bookDTO.getId(), BatchItemResultDTO.Status.FAILED, mostSpecificMessage(itemEx));
+                    }
+                }
+            }
+        }
+
+        result.sortResults();
+        logger.info("Batch update finished: {} updated, {} failed", result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    @Override
+    public BatchResultDTO deleteBooks(List<Long> ids) {
+        logger.info("Deleting {} books in batch", ids.size());
+        checkBatchSize(ids.size());
+        BatchResultDTO result = new BatchResultDTO();
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                result.addResult(i, null, BatchItemResultDTO.Status.INVALID, "id: must not be null");
+            } else {
+                validIndexes.add(i);
+            }
+        }
+
+        for (List<Integer> chunk : partition(validIndexes)) {
+            try {
+                Set<Long> deletedIds = transactionTemplate.execute(status -> {
+                    List<Long> chunkIds = chunk.stream().map(ids::get).toList();
+                    List<Long> existingIds = bookRepository.findExistingIds(chunkIds);
+                    // Single DELETE ... WHERE id IN (...) for the whole chunk
+                    if (!existingIds.isEmpty()) {
+                        bookRepository.deleteAllByIdInBatch(existingIds);
+                        eventPublisher.publishEvent(new BooksDeletedEvent(existingIds));
+                    }
+                    return new HashSet<>(existingIds);
+                });
+                for (Integer index : chunk) {
+                    Long id = ids.get(index);
+                    if (deletedIds.contains(id)) {
+                        result.addResult(index, id, BatchItemResultDTO.Status.DELETED, null);
+                    } else {
+                        result.addResult(index, id, BatchItemResultDTO.Status.NOT_FOUND, "Book not found with ID: " + id);
+                    }
+                }
+            } catch (RuntimeException ex) {
+                logger.warn("Batch delete of {} books failed: {}", chunk.size(), mostSpecificMessage(ex));
+                for (Integer index : chunk) {
+                    result.addResult(index, ids.get(index), BatchItemResultDTO.Status.FAILED, mostSpecificMessage(ex));
+                }
+            }
+        }
+
+        result.sortResults();
+        logger.info("Batch delete finished: {} deleted, {} failed", result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > batchMaxSize) {
+            throw new InvalidRequestException("Batch of " + size + " items exceeds the maximum of " + batchMaxSize);
+        }
+    }
+
+    private List<Integer> validateBatch(List<BookDTO> bookDTOs, BatchResultDTO result, boolean requireId) {
+        List<Integer> validIndexes = new ArrayList<>(bookDTOs.size());
+        for (int i = 0; i < bookDTOs.size(); i++) {
+            BookDTO bookDTO = bookDTOs.get(i);
+            String violations = validate(bookDTO);
+            if (violations == null && requireId && bookDTO.getId() == null) {
+                violations = "id: must not be null";
+            }
+            if (violations != null) {
+                result.addResult(i, bookDTO == null ? null : bookDTO.getId(), BatchItemResultDTO.Status.INVALID, violations);
+            } else {
+                validIndexes.add(i);
+            }
+        }
+        return validIndexes;
+    }
+
+    private String validate(BookDTO bookDTO) {
+        if (bookDTO == null) {
+            return "Book must not be null";
+        }
+        Set<ConstraintViolation<BookDTO>> violations = validator.validate(bookDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private List<List<Integer>> partition(List<Integer> indexes) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < indexes.size(); from += batchChunkSize) {
+            chunks.add(indexes.subList(from, Math.min(from + batchChunkSize, indexes.size())));
+        }
+        return chunks;
+    }
+
+    private static void applyUpdate(BookDTO bookDTO, Book book) {
+        // Stored Google Books data belongs to the old ISBN; let the enrichment worker fetch it again
+        if (!Objects.equals(book.getIsbn(), bookDTO.getIsbn())) {
+            book.setEnrichedAt(null);
+        }
+        BookMapper.updateBook(bookDTO, book);
+    }
+
+    private String mostSpecificMessage(Throwable ex) {
+        return NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public BookDTO getBookById(Long id) {
@@ -78,8 +447,7 @@ public class BookServiceImpl implements BookService {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new BookNotFoundException("Book not found with ID: " + id));
         
-        BookDTO bookDTO = new BookDTO();
-        BeanUtils.copyProperties(book, bookDTO);
+        BookDTO bookDTO = BookMapper.toBookDTO(book);
         logger.info("Book fetched successfully with ID: {}", bookDTO.getId());
         return bookDTO;
     }
@@ -88,14 +456,11 @@ public class BookServiceImpl implements BookService {
     @Transactional(readOnly = true)
     public Page<BookDTO> getAllBooks(int page, int size) {
         logger.info("Fetching books page {} with size {}", page, size);
-        Page<Book> bookPage = bookRepository.findAll(
-                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")));
-        
-        Page<BookDTO> bookDTOPage = bookPage.map(book -> {
-            BookDTO bookDTO = new BookDTO();
-            BeanUtils.copyProperties(book, bookDTO);
-            return bookDTO;
-        });
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        // The first pages are what most clients ask for; they come from the query cache
+        Page<BookDTO> bookDTOPage = page < cachedPages
+                ? bookRepository.findCachedBookDTOs(pageRequest)
+                : bookRepository.findAllBookDTOs(pageRequest);
         
         logger.info("Fetched {} books successfully", bookDTOPage.getContent().size());
         return bookDTOPage;
@@ -105,36 +470,110 @@ public class BookServiceImpl implements BookService {
     @Transactional(readOnly = true)
     public Page<BookDTO> searchBooks(String query, String searchBy, int page, int size) {
         logger.info("Searching books by {} with query: {}, page: {}, size: {}", searchBy, query, page, size);
-        Page<Book> bookPage;
-        
-        switch (searchBy.toLowerCase()) {
-            case "title":
-                bookPage = bookRepository.findByTitleContainingIgnoreCase(query, 
-                        PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "title")));
-                break;
-            case "author":
-                bookPage = bookRepository.findByAuthorContainingIgnoreCase(query, 
-                        PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "author")));
-                break;
-            case "category":
-                bookPage = bookRepository.findByCategoryContainingIgnoreCase(query, 
-                        PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "category")));
-                break;
-            default:
-                bookPage = bookRepository.findByTitleContainingIgnoreCase(query, 
-                        PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "title")));
-        }
-        
-        Page<BookDTO> bookDTOPage = bookPage.map(book -> {
-            BookDTO bookDTO = new BookDTO();
-            BeanUtils.copyProperties(book, bookDTO);
-            return bookDTO;
-        });
+        PageRequest pageRequest = PageRequest.of(page, size);
+        String field = switch (searchBy.toLowerCase()) {
+            case "author", "category", "description", BookSearchIndex.ALL_FIELDS -> searchBy.toLowerCase();
+            default -> "title";
+        };
+        
+        // Relevance-ranked ids come from the full-text index, the rows themselves from the database
+        BookSearchIndex.Hits hits;
+        try {
+            hits = bookSearchIndex.search(query, field, (int) pageRequest.getOffset(), size);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Search index is unavailable", ex);
+        }
+        List<BookDTO> rows = page < cachedPages
+                ? bookRepository.findCachedBookDTOsByIdIn(hits.ids())
+                : bookRepository.findBookDTOsByIdIn(hits.ids());
+        Map<Long, BookDTO> booksById = rows.stream()
+                .collect(Collectors.toMap(BookDTO::getId, Function.identity()));
+        List<BookDTO> content = hits.ids().stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        Page<BookDTO> bookDTOPage = new PageImpl<>(content, pageRequest, hits.totalHits());
         
         logger.info("Search returned {} books", bookDTOPage.getContent().size());
         return bookDTOPage;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BookDTO> getAllBooks(String cursor, int size) {
+        logger.info("Fetching books after cursor {} with size {}", cursor, size);
+        LocalDateTime createdAt = KEYSET_LATEST;
+        Long id = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isEmpty()) {
+            KeysetCursor after = KeysetCursor.decode(cursor, "createdAt");
+            try {
+                createdAt = LocalDateTime.parse(after.sortValue());
+            } catch (DateTimeParseException ex) {
+                throw new InvalidRequestException("Invalid cursor for sort by createdAt: " + cursor);
+            }
+            id = after.id();
+        }
+        
+        Slice<BookDTO> bookSlice = bookRepository.findNextByCreatedAt(createdAt, id, PageRequest.of(0, size));
+        CursorPageDTO<BookDTO> cursorPage = toCursorPage(bookSlice, "createdAt", book -> book.getCreatedAt().toString());
+        
+        logger.info("Fetched {} books successfully", cursorPage.getContent().size());
+        return cursorPage;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BookDTO> searchBooks(String query, String searchBy, String cursor, int size) {
+        logger.info("Searching books by {} with query: {}, cursor: {}, size: {}", searchBy, query, cursor, size);
+        String sortField = switch (searchBy.toLowerCase()) {
+            case "author", "category" -> searchBy.toLowerCase();
+            default -> "title";
+        };
+        String sortValue = "";
+        Long id = 0L;
+        if (cursor != null && !cursor.isEmpty()) {
+            KeysetCursor after = KeysetCursor.decode(cursor, sortField);
+            sortValue = after.sortValue();
+            id = after.id();
+        }
+        
+        String pattern = "%" + escapeLike(query.toLowerCase()) + "%";
+        PageRequest limit = PageRequest.of(0, size);
+        CursorPageDTO<BookDTO> cursorPage = switch (sortField) {
+            case "author" -> toCursorPage(
+                    bookRepository.findNextByAuthorLike(pattern, sortValue, id, limit), sortField, BookDTO::getAuthor);
+            case "category" -> toCursorPage(
+                    bookRepository.findNextByCategoryLike(pattern, sortValue, id, limit), sortField, BookDTO::getCategory);
+            default -> toCursorPage(
+                    bookRepository.findNextByTitleLike(pattern, sortValue, id, limit), sortField, BookDTO::getTitle);
+        };
+        
+        logger.info("Search returned {} books", cursorPage.getContent().size());
+        return cursorPage;
+    }
+
+    @Override
+    public List<BookSuggestionDTO> suggestBooks(String prefix, int limit) {
+        // Served from memory on every keystroke, so logged at debug only
+        List<BookSuggestionDTO> suggestions = bookSuggestIndex.suggest(prefix, limit);
+        logger.debug("Suggest for prefix '{}' returned {} entries", prefix, suggestions.size());
+        return suggestions;
+    }
+
+    private CursorPageDTO<BookDTO> toCursorPage(Slice<BookDTO> bookSlice, String sortField, Function<BookDTO, String> sortValue) {
+        List<BookDTO> content = bookSlice.getContent();
+        String nextCursor = null;
+        if (bookSlice.hasNext()) {
+            BookDTO last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(sortField, last.getId(), sortValue.apply(last)).encode();
+        }
+        return new CursorPageDTO<>(content, content.size(), bookSlice.hasNext(), nextCursor);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     @Override
     @Transactional(readOnly = true)
     public BookDetailDTO getBookDetailsWithGoogleBooksInfo(Long id) {
@@ -142,37 +581,128 @@ public class BookServiceImpl implements BookService {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new BookNotFoundException("Book not found with ID: " + id));
         
-        BookDetailDTO bookDetailDTO = new BookDetailDTO();
-        BeanUtils.copyProperties(book, bookDetailDTO);
+        return enrichWithGoogleBooksInfo(BookMapper.toBookDetailDTO(book)).block();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookDetailDTO getStoredBookDetails(Long id) {
+        // Served from the second-level cache for hot books, so a conditional GET costs no JDBC call
+        Book book = bookRepository.findById(id)
+                .orElseThrow(() -> new BookNotFoundException("Book not found with ID: " + id));
+        return BookMapper.toBookDetailDTO(book);
+    }
+
+    @Override
+    public Mono<BookDetailDTO> getBookDetailsWithGoogleBooksInfoAsync(Long id) {
+        // Deliberately not @Transactional: findById runs in the repository's own read-only
+        // transaction, so the connection is back in the pool before the Google Books call starts
+        return Mono.fromCallable(() -> {
+                    logger.info("Fetching detailed book information with Google Books data for ID: {}", id);
+                    return getStoredBookDetails(id);
+                })
+                .flatMap(this::enrichWithGoogleBooksInfo);
+    }
+
+    // For callers that have already loaded the stored details, e.g. to answer a conditional GET
+    @Override
+    public Mono<BookDetailDTO> enrichBookDetailsAsync(BookDetailDTO storedDetails) {
+        return enrichWithGoogleBooksInfo(storedDetails);
+    }
+
+    @Override
+    public List<BookDetailDTO> getBookDetailsWithGoogleBooksInfo(List<BookDTO> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+        // Stored enrichment comes from the rows; the repository call runs in its own read-only
+        // transaction, so no connection is held during the Google Books lookups
+        List<Long> ids = books.stream().map(BookDTO::getId).toList();
+        Map<Long, Book> booksById = bookRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<BookDetailDTO> details = ids.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .map(BookMapper::toBookDetailDTO)
+                .toList();
         
-        // Fetch additional information from Google Books API
-        if (book.getIsbn() != null && !book.getIsbn().isEmpty()) {
-            GoogleBookResponse response = googleBooksApiService.searchBooksByIsbn(book.getIsbn()).block();
-            
-            if (response != null && response.getItems() != null && !response.getItems().isEmpty()) {
-                GoogleBookResponse.Item item = response.getItems().get(0);
-                
-                // Update with Google Books information
-                if (item.getVolumeInfo() != null) {
-                    bookDetailDTO.setInfoLink(item.getVolumeInfo().getInfoLink());
-                }
-                
-                if (item.getSearchInfo() != null) {
-                    bookDetailDTO.setTextSnippet(item.getSearchInfo().getTextSnippet());
-                }
-                
-                if (item.getSaleInfo() != null) {
-                    bookDetailDTO.setIsEbook(item.getSaleInfo().getIsEbook());
-                }
-                
-                logger.info("Enhanced book details with Google Books information");
-            } else {
-                logger.info("No Google Books information found for ISBN: {}", book.getIsbn());
+        // Books not enriched yet are looked up in parallel, in the background rate-limit lane so
+        // single-book /details calls go first. Lookups still running at the page deadline are
+        // cancelled and those books are returned with their stored data only.
+        Map<Long, GoogleBookResponse> responses = new ConcurrentHashMap<>();
+        long start = System.nanoTime();
+        Flux.fromIterable(details)
+                .filter(detail -> detail.getEnrichedAt() == null && detail.getIsbn() != null && !detail.getIsbn().isEmpty())
+                .flatMap(detail -> googleBooksApiService.searchBooksByIsbn(detail.getIsbn(), LookupPriority.BACKGROUND)
+                        .timeout(enrichLookupTimeout)
+                        .doOnNext(response -> responses.put(detail.getId(), response))
+                        .onErrorResume(ex -> {
+                            logger.warn("Google Books lookup failed for book {}: {}", detail.getId(), ex.toString());
+                            detail.setDegraded(true);
+                            return Mono.empty();
+                        }), enrichConcurrency)
+                .then()
+                .timeout(enrichPageDeadline, Mono.empty())
+                .block();
+        
+        for (BookDetailDTO detail : details) {
+            GoogleBookResponse response = responses.get(detail.getId());
+            if (response != null) {
+                applyGoogleBooksInfo(detail, response);
+            } else if (detail.getEnrichedAt() == null && detail.getIsbn() != null && !detail.getIsbn().isEmpty()) {
+                // Lookup cancelled at the page deadline (failed ones are already marked)
+                detail.setDegraded(true);
             }
-        } else {
+        }
+        logger.info("Enriched {} of {} books with live Google Books data in {} ms",
+                responses.size(), details.size(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return details;
+    }
+
+    private Mono<BookDetailDTO> enrichWithGoogleBooksInfo(BookDetailDTO bookDetailDTO) {
+        if (bookDetailDTO.getEnrichedAt() != null) {
+            logger.info("Serving stored Google Books information from {}", bookDetailDTO.getEnrichedAt());
+            return Mono.just(bookDetailDTO);
+        }
+        if (bookDetailDTO.getIsbn() == null || bookDetailDTO.getIsbn().isEmpty()) {
             logger.info("Book has no ISBN, skipping Google Books API call");
+            return Mono.just(bookDetailDTO);
         }
         
+        // Fetch additional information from Google Books API. If it is failing (or the circuit
+        // breaker is open) the stored book is still returned, flagged as degraded.
+        return googleBooksApiService.searchBooksByIsbn(bookDetailDTO.getIsbn())
+                .map(response -> applyGoogleBooksInfo(bookDetailDTO, response))
+                .defaultIfEmpty(bookDetailDTO)
+                .onErrorResume(ex -> {
+                    logger.warn("Google Books lookup failed for ISBN {}: {}", bookDetailDTO.getIsbn(), ex.toString());
+                    bookDetailDTO.setDegraded(true);
+                    return Mono.just(bookDetailDTO);
+                });
+    }
+
+    private BookDetailDTO applyGoogleBooksInfo(BookDetailDTO bookDetailDTO, GoogleBookResponse response) {
+        if (response.getItems() != null && !response.getItems().isEmpty()) {
+            GoogleBookResponse.Item item = response.getItems().get(0);
+            
+            // Update with Google Books information
+            if (item.getVolumeInfo() != null) {
+                bookDetailDTO.setInfoLink(item.getVolumeInfo().getInfoLink());
+                bookDetailDTO.setPreviewLink(item.getVolumeInfo().getPreviewLink());
+            }
+            
+            if (item.getSearchInfo() != null) {
+                bookDetailDTO.setTextSnippet(item.getSearchInfo().getTextSnippet());
+            }
+            
+            if (item.getSaleInfo() != null) {
+                bookDetailDTO.setIsEbook(item.getSaleInfo().getIsEbook());
+            }
+            
+            logger.info("Enhanced book details with Google Books information");
+        } else {
+            logger.info("No Google Books information found for ISBN: {}", bookDetailDTO.getIsbn());
+        }
         return bookDetailDTO;
     }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.interview.bookapi.service;
+
+import com.interview.bookapi.event.BooksDeletedEvent;
+import com.interview.bookapi.event.BooksSavedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the catalog for conditional GETs on listing pages, kept in memory and bumped after
+ * every committed book write, so validating a page costs no query. Enrichment does not publish
+ * events and does not change listing pages either. Prefixed with the startup time, so ETags
+ * handed out before a restart never match afterwards.
+ */
+@Component
+public class CatalogVersionTracker {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksSaved(BooksSavedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksDeleted(BooksDeletedEvent event) {
+        version.incrementAndGet();
+    }
+
+    public String currentVersion() {
+        return epoch + "-" + version.get();
+    }
+}
@@ -4,6 +4,10 @@ import com.interview.bookapi.dto.GoogleBookResponse;
 import reactor.core.publisher.Mono;
 
 public interface GoogleBooksApiService {
-    Mono<GoogleBookResponse> searchBooksByIsbn(String isbn);
+    default Mono<GoogleBookResponse> searchBooksByIsbn(String isbn) {
+        return searchBooksByIsbn(isbn, LookupPriority.INTERACTIVE);
+    }
+
+    Mono<GoogleBookResponse> searchBooksByIsbn(String isbn, LookupPriority priority);
     Mono<GoogleBookResponse> searchBooksByTitle(String title);
-}
\ No newline at end of file
+}
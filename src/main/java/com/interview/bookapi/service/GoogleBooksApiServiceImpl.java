@@ -1,61 +1,160 @@
 package com.interview.bookapi.service;
 
+import com.interview.bookapi.config.GoogleBooksClientProperties;
 import com.interview.bookapi.dto.GoogleBookResponse;
+import com.interview.bookapi.exception.GoogleBooksRateLimitException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class GoogleBooksApiServiceImpl implements GoogleBooksApiService {
 
     private static final Logger logger = LoggerFactory.getLogger(GoogleBooksApiServiceImpl.class);
+    private static final String REQUEST_TIMER = "google.books.client.requests";
     private final WebClient webClient;
-    private final String apiUrl;
+    private final RetryBackoffSpec retry;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration totalTimeout;
+    private final GoogleBooksRateLimiter rateLimiter;
+    private final GoogleBooksCache googleBooksCache;
+    private final MeterRegistry meterRegistry;
+    // Lookups currently on the wire, shared by concurrent callers for the same query and lane
+    private final Map<InFlightKey, Mono<GoogleBookResponse>> inFlight = new ConcurrentHashMap<>();
     private final String apiKey;
 
+    private record InFlightKey(String query, LookupPriority priority) {
+    }
+
     public GoogleBooksApiServiceImpl(
-            WebClient.Builder webClientBuilder,
-            @Value("${google.books.api.url}") String apiUrl,
+            WebClient googleBooksWebClient,
+            RetryBackoffSpec googleBooksRetry,
+            CircuitBreaker googleBooksCircuitBreaker,
+            GoogleBooksClientProperties clientProperties,
+            GoogleBooksRateLimiter rateLimiter,
+            GoogleBooksCache googleBooksCache,
+            MeterRegistry meterRegistry,
             @Value("${google.books.api.key}") String apiKey) {
-        this.webClient = webClientBuilder.build();
-        this.apiUrl = apiUrl;
+        this.webClient = googleBooksWebClient;
+        this.retry = googleBooksRetry;
+        this.circuitBreaker = googleBooksCircuitBreaker;
+        this.totalTimeout = clientProperties.getTotalTimeout();
+        this.rateLimiter = rateLimiter;
+        this.googleBooksCache = googleBooksCache;
+        this.meterRegistry = meterRegistry;
         this.apiKey = apiKey;
     }
 
     @Override
-    public Mono<GoogleBookResponse> searchBooksByIsbn(String isbn) {
+    public Mono<GoogleBookResponse> searchBooksByIsbn(String isbn, LookupPriority priority) {
         logger.debug("Searching Google Books API for ISBN: {}", isbn);
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .scheme("https")
-                        .host("www.googleapis.com")
-                        .path("/books/v1/volumes")
-                        .queryParam("q", "isbn:" + isbn)
-                        .queryParam("key", apiKey)
-                        .build())
-                .retrieve()
-                .bodyToMono(GoogleBookResponse.class)
-                .doOnSuccess(response -> logger.debug("Received response from Google Books API for ISBN: {}", isbn))
-                .doOnError(error -> logger.error("Error fetching from Google Books API for ISBN: {}", isbn, error));
+        return lookup("isbn", "isbn:" + isbn, priority);
     }
 
     @Override
     public Mono<GoogleBookResponse> searchBooksByTitle(String title) {
         logger.debug("Searching Google Books API for title: {}", title);
+        return lookup("title", "intitle:" + title, LookupPriority.INTERACTIVE);
+    }
+
+    private Mono<GoogleBookResponse> lookup(String type, String query, LookupPriority priority) {
+        return Mono.defer(() -> {
+            GoogleBookResponse cached = googleBooksCache.get(query);
+            if (cached != null) {
+                logger.debug("Google Books cache hit for query: {}", query);
+                return Mono.just(cached);
+            }
+            // Background callers may ride along with an interactive lookup, but an interactive
+            // caller never joins one queued in the background lane: it takes its own permit
+            if (priority == LookupPriority.BACKGROUND) {
+                Mono<GoogleBookResponse> interactive = inFlight.get(new InFlightKey(query, LookupPriority.INTERACTIVE));
+                if (interactive != null) {
+                    return interactive;
+                }
+            }
+            return inFlight.computeIfAbsent(new InFlightKey(query, priority), key -> sharedFetch(type, key));
+        });
+    }
+
+    private Mono<GoogleBookResponse> sharedFetch(String type, InFlightKey key) {
+        // cache() replays the single upstream result to every subscriber; the entry is
+        // removed once that result is in (after it has been put into the response cache)
+        return fetch(type, key.query(), key.priority())
+                .doOnNext(response -> googleBooksCache.put(key.query(), response))
+                .doFinally(signal -> inFlight.remove(key))
+                .cache();
+    }
+
+    private Mono<GoogleBookResponse> fetch(String type, String query, LookupPriority priority) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            // The first permit is taken before the breaker and the total timeout: time spent
+            // queueing behind other lookups is not a Google Books failure and must not hold a
+            // half-open call. Retries happen inside the breaker, so it records one outcome per
+            // lookup; each retried attempt takes another permit without waiting for it.
+            // While the breaker is open, lookups fail immediately with CallNotPermittedException.
+            return rateLimiter.acquire(priority)
+                    .then(Mono.defer(() -> request(query)
+                            .retryWhen(retry.doBeforeRetryAsync(signal -> rateLimiter.acquireForRetry(priority)))
+                            .timeout(totalTimeout)
+                            .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))))
+                    .doOnSuccess(response -> sample.stop(requestTimer(type, "SUCCESS", "200")))
+                    .doOnError(error -> sample.stop(requestTimer(type, outcome(error), status(error))))
+                    .doOnCancel(() -> sample.stop(requestTimer(type, "CANCELLED", "NONE")));
+        });
+    }
+
+    private Mono<GoogleBookResponse> request(String query) {
         return webClient.get()
                 .uri(uriBuilder -> uriBuilder
-                        .scheme("https")
-                        .host("www.googleapis.com")
-                        .path("/books/v1/volumes")
-                        .queryParam("q", "intitle:" + title)
+                        .queryParam("q", query)
                         .queryParam("key", apiKey)
                         .build())
                 .retrieve()
                 .bodyToMono(GoogleBookResponse.class)
-                .doOnSuccess(response -> logger.debug("Received response from Google Books API for title: {}", title))
-                .doOnError(error -> logger.error("Error fetching from Google Books API for title: {}", title, error));
+                .doOnSuccess(response -> logger.debug("Received response from Google Books API for query: {}", query))
+                .doOnError(error -> logger.error("Error fetching from Google Books API for query: {}", query, error));
+    }
+
+    private Timer requestTimer(String type, String outcome, String status) {
+        return Timer.builder(REQUEST_TIMER)
+                .description("Google Books API requests by lookup type")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .tag("status", status)
+                .register(meterRegistry);
+    }
+
+    private static String outcome(Throwable error) {
+        if (error instanceof CallNotPermittedException) {
+            return "CIRCUIT_OPEN";
+        }
+        if (error instanceof GoogleBooksRateLimitException) {
+            return "RATE_LIMITED";
+        }
+        if (error instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is4xxClientError() ? "CLIENT_ERROR" : "SERVER_ERROR";
+        }
+        return "ERROR";
+    }
+
+    private static String status(Throwable error) {
+        return error instanceof WebClientResponseException responseException
+                ? String.valueOf(responseException.getStatusCode().value())
+                : "NONE";
     }
-}
\ No newline at end of file
+}
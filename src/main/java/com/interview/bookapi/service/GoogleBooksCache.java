@@ -0,0 +1,95 @@
+package com.interview.bookapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.interview.bookapi.dto.GoogleBookResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded in-process cache of Google Books responses keyed by the volume query
+ * (e.g. {@code isbn:9780743273565} or {@code intitle:gatsby}).
+ * Responses without items are kept for a shorter time than positive ones.
+ */
+@Component
+public class GoogleBooksCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoogleBooksCache.class);
+    private final Cache<String, GoogleBookResponse> cache;
+
+    public GoogleBooksCache(
+            @Value("${google.books.cache.maximum-size:10000}") long maximumSize,
+            @Value("${google.books.cache.ttl:PT24H}") Duration ttl,
+            @Value("${google.books.cache.negative-ttl:PT30M}") Duration negativeTtl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ResponseExpiry(ttl, negativeTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "google-books");
+    }
+
+    public GoogleBookResponse get(String query) {
+        return cache.getIfPresent(query);
+    }
+
+    public void put(String query, GoogleBookResponse response) {
+        cache.put(query, response);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Scheduled(initialDelayString = "${google.books.cache.stats-interval:PT5M}",
+            fixedDelayString = "${google.books.cache.stats-interval:PT5M}")
+    public void logStats() {
+        CacheStats stats = cache.stats();
+        logger.info("Google Books cache stats: size={}, hitRate={}, hits={}, misses={}, evictions={}",
+                cache.estimatedSize(), String.format("%.3f", stats.hitRate()),
+                stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+
+    static boolean isNegative(GoogleBookResponse response) {
+        return response.getItems() == null || response.getItems().isEmpty();
+    }
+
+    private static class ResponseExpiry implements Expiry<String, GoogleBookResponse> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        ResponseExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, GoogleBookResponse value, long currentTime) {
+            return isNegative(value) ? negativeTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, GoogleBookResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, GoogleBookResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
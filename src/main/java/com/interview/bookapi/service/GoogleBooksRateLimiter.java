@@ -0,0 +1,237 @@
+package com.interview.bookapi.service;
+
+import com.interview.bookapi.config.GoogleBooksClientProperties;
+import com.interview.bookapi.exception.GoogleBooksRateLimitException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Outbound rate limiter for Google Books requests: a token bucket refilled at
+ * {@code permits-per-second} (up to {@code burst}) plus a daily request quota.
+ * <p>
+ * Interactive lookups take a permit straight away and, if the bucket is empty, wait for it up to
+ * {@code max-wait}. Background lookups only take a permit while more than
+ * {@code interactive-reserve} are available and otherwise back off and try again, so they queue
+ * behind interactive traffic, for at most {@code background-max-wait}. Background lookups may also
+ * use only {@code background-quota-share} of the daily quota. Requests over the quota, or that
+ * would wait too long, fail with {@link GoogleBooksRateLimitException} without reaching Google Books.
+ */
+@Component
+public class GoogleBooksRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoogleBooksRateLimiter.class);
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final double permitsPerNano;
+    private final double burst;
+    private final double backgroundThreshold;
+    private final long maxWaitNanos;
+    private final long backgroundMaxWaitNanos;
+    private final long dailyQuota;
+    private final long backgroundQuota;
+    private final ZoneId quotaResetZone;
+    private final LongSupplier nanoTime;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock; tokens goes negative while interactive lookups wait for permits
+    private double tokens;
+    private long refilledAt;
+    private LocalDate quotaDay;
+    private long quotaUsed;
+
+    @Autowired
+    public GoogleBooksRateLimiter(GoogleBooksClientProperties clientProperties, MeterRegistry meterRegistry) {
+        this(clientProperties.getRateLimit(), meterRegistry, System::nanoTime, Clock.systemUTC());
+    }
+
+    GoogleBooksRateLimiter(GoogleBooksClientProperties.RateLimit rateLimit, MeterRegistry meterRegistry,
+                           LongSupplier nanoTime, Clock clock) {
+        this.permitsPerNano = rateLimit.getPermitsPerSecond() / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(rateLimit.getBurst(), 1);
+        this.backgroundThreshold = Math.min(1 + rateLimit.getInteractiveReserve(), burst);
+        this.maxWaitNanos = rateLimit.getMaxWait().toNanos();
+        this.backgroundMaxWaitNanos = rateLimit.getBackgroundMaxWait().toNanos();
+        this.dailyQuota = rateLimit.getDailyQuota();
+        this.backgroundQuota = Math.round(rateLimit.getDailyQuota() * rateLimit.getBackgroundQuotaShare());
+        this.quotaResetZone = rateLimit.getQuotaResetZone();
+        this.nanoTime = nanoTime;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.tokens = burst;
+        this.refilledAt = nanoTime.getAsLong();
+        this.quotaDay = LocalDate.now(clock.withZone(quotaResetZone));
+
+        Gauge.builder("google.books.rate-limiter.available-permits", this, GoogleBooksRateLimiter::availablePermits)
+                .description("Permits currently in the Google Books token bucket")
+                .register(meterRegistry);
+        if (dailyQuota > 0) {
+            Gauge.builder("google.books.quota.remaining", this, limiter -> limiter.remainingQuota(LookupPriority.INTERACTIVE))
+                    .description("Google Books requests left in today's quota")
+                    .tag("priority", "interactive")
+                    .register(meterRegistry);
+            Gauge.builder("google.books.quota.remaining", this, limiter -> limiter.remainingQuota(LookupPriority.BACKGROUND))
+                    .description("Google Books requests left in today's quota")
+                    .tag("priority", "background")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Completes once a permit has been taken for one request in the given lane, or fails with
+     * {@link GoogleBooksRateLimitException}. Each subscription takes a new permit.
+     */
+    public Mono<Void> acquire(LookupPriority priority) {
+        return Mono.defer(() -> acquire(priority, nanoTime.getAsLong() + backgroundMaxWaitNanos));
+    }
+
+    /**
+     * Takes a permit for a retried request without waiting for it: the retry backoff already
+     * spaces attempts out. The bucket may go into debt, which later lookups wait for, so the
+     * average rate still holds. Still fails once the lane's daily quota is used up.
+     */
+    public Mono<Void> acquireForRetry(LookupPriority priority) {
+        return Mono.fromRunnable(() -> {
+            lock.lock();
+            try {
+                refill();
+                resetQuotaIfNewDay();
+                checkQuota(priority);
+                take();
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    public boolean hasQuota(LookupPriority priority) {
+        return remainingQuota(priority) > 0;
+    }
+
+    public long remainingQuota(LookupPriority priority) {
+        if (dailyQuota <= 0) {
+            return Long.MAX_VALUE;
+        }
+        lock.lock();
+        try {
+            resetQuotaIfNewDay();
+            return Math.max(quota(priority) - quotaUsed, 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double availablePermits() {
+        lock.lock();
+        try {
+            refill();
+            return tokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Mono<Void> acquire(LookupPriority priority, long backgroundDeadline) {
+        return Mono.defer(() -> {
+            long waitNanos = reserve(priority, backgroundDeadline);
+            if (waitNanos == 0) {
+                return Mono.empty();
+            }
+            if (priority == LookupPriority.INTERACTIVE) {
+                // The permit is already ours; wait until it has been refilled
+                return Mono.delay(Duration.ofNanos(waitNanos)).then();
+            }
+            // Background lookups hold nothing while waiting, so interactive ones can overtake them
+            return Mono.delay(Duration.ofNanos(waitNanos)).then(acquire(priority, backgroundDeadline));
+        });
+    }
+
+    /**
+     * Takes a permit and returns how long the caller has to wait for it, or, for a background
+     * lookup that did not get one, how long until it is worth trying again.
+     */
+    private long reserve(LookupPriority priority, long backgroundDeadline) {
+        lock.lock();
+        try {
+            refill();
+            resetQuotaIfNewDay();
+            checkQuota(priority);
+            if (priority == LookupPriority.INTERACTIVE) {
+                long waitNanos = tokens >= 1 ? 0 : (long) ((1 - tokens) / permitsPerNano);
+                if (waitNanos > maxWaitNanos) {
+                    throw reject(priority, "rate", "Google Books rate limit: no permit within " + Duration.ofNanos(maxWaitNanos));
+                }
+                take();
+                return waitNanos;
+            }
+            if (tokens >= backgroundThreshold) {
+                take();
+                return 0;
+            }
+            long backoffNanos = Math.max((long) ((backgroundThreshold - tokens) / permitsPerNano), MIN_BACKOFF_NANOS);
+            // refilledAt is now; give up rather than back off past the deadline
+            if (backoffNanos > backgroundDeadline - refilledAt) {
+                throw reject(priority, "rate", "Google Books rate limit: no background permit within "
+                        + Duration.ofNanos(backgroundMaxWaitNanos));
+            }
+            return backoffNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkQuota(LookupPriority priority) {
+        if (dailyQuota > 0 && quotaUsed >= quota(priority)) {
+            throw reject(priority, "quota", "Google Books daily quota exhausted for " + priority + " lookups");
+        }
+    }
+
+    private void take() {
+        tokens -= 1;
+        quotaUsed++;
+    }
+
+    private void refill() {
+        long now = nanoTime.getAsLong();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+    }
+
+    private void resetQuotaIfNewDay() {
+        LocalDate today = LocalDate.now(clock.withZone(quotaResetZone));
+        if (!today.equals(quotaDay)) {
+            logger.info("Google Books quota reset: {} requests used on {}", quotaUsed, quotaDay);
+            quotaDay = today;
+            quotaUsed = 0;
+        }
+    }
+
+    private long quota(LookupPriority priority) {
+        return priority == LookupPriority.INTERACTIVE ? dailyQuota : backgroundQuota;
+    }
+
+    private GoogleBooksRateLimitException reject(LookupPriority priority, String reason, String message) {
+        Counter.builder("google.books.rate-limiter.rejections")
+                .description("Google Books lookups rejected before reaching the API")
+                .tag("priority", priority.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return new GoogleBooksRateLimitException(message);
+    }
+}
@@ -0,0 +1,95 @@
+package com.interview.bookapi.service;
+
+import com.interview.bookapi.dto.BookFileFormat;
+import com.interview.bookapi.dto.ImportJobDTO;
+import com.interview.bookapi.dto.ImportRowErrorDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one catalog import. Counters are updated by the import worker and read by
+ * status requests; only the first {@code maxErrors} row errors are kept.
+ */
+class ImportJob {
+
+    private final String id;
+    private final BookFileFormat format;
+    private final int maxErrors;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+    private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+    private volatile ImportJobDTO.Status status = ImportJobDTO.Status.PENDING;
+    private volatile String message;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    ImportJob(String id, BookFileFormat format, int maxErrors) {
+        this.id = id;
+        this.format = format;
+        this.maxErrors = maxErrors;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    BookFileFormat getFormat() {
+        return format;
+    }
+
+    LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        status = ImportJobDTO.Status.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        status = ImportJobDTO.Status.COMPLETED;
+    }
+
+    void fail(String message) {
+        this.message = message;
+        finishedAt = LocalDateTime.now();
+        status = ImportJobDTO.Status.FAILED;
+    }
+
+    void recordImported() {
+        rowsImported.incrementAndGet();
+    }
+
+    void recordError(long row, String message) {
+        rowsFailed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportRowErrorDTO(row, message));
+            }
+        }
+    }
+
+    ImportJobDTO toDTO() {
+        ImportJobDTO dto = new ImportJobDTO();
+        dto.setId(id);
+        dto.setStatus(status);
+        dto.setFormat(format);
+        dto.setRowsImported(rowsImported.get());
+        dto.setRowsFailed(rowsFailed.get());
+        dto.setRowsProcessed(dto.getRowsImported() + dto.getRowsFailed());
+        synchronized (errors) {
+            dto.setErrors(new ArrayList<>(errors));
+        }
+        dto.setErrorsTruncated(dto.getRowsFailed() > dto.getErrors().size());
+        dto.setMessage(message);
+        dto.setSubmittedAt(submittedAt);
+        dto.setStartedAt(startedAt);
+        dto.setFinishedAt(finishedAt);
+        return dto;
+    }
+}
@@ -0,0 +1,10 @@
+package com.interview.bookapi.service;
+
+/**
+ * Lane a Google Books lookup is rate limited in. Interactive lookups (a user waiting on
+ * {@code /details}) take permits first; background and bulk lookups only use what is left.
+ */
+public enum LookupPriority {
+    INTERACTIVE,
+    BACKGROUND
+}
@@ -0,0 +1,97 @@
+package com.interview.bookapi.util;
+
+import com.interview.bookapi.dto.BookDTO;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Maps CSV records to {@link BookDTO}s using the column names of the header record, and
+ * {@link BookDTO}s to records in {@link #HEADER} order for export.
+ * Column names match the JSON property names of {@link BookDTO} (case-insensitive, snake_case
+ * accepted); unknown columns are ignored.
+ */
+public class BookCsvMapper {
+
+    public static final List<String> HEADER = List.of(
+            "id", "isbn", "title", "author", "description", "publisher", "publishedDate", "pageCount",
+            "category", "rating", "thumbnailUrl", "language", "createdAt", "updatedAt");
+
+    private final String[] columns;
+
+    public BookCsvMapper(List<String> header) {
+        this.columns = header.stream()
+                .map(name -> name.trim().replace("_", "").toLowerCase(Locale.ROOT))
+                .toArray(String[]::new);
+    }
+
+    public BookDTO toBookDTO(List<String> record) {
+        if (record.size() > columns.length) {
+            throw new IllegalArgumentException("Expected at most " + columns.length + " fields but found " + record.size());
+        }
+        BookDTO bookDTO = new BookDTO();
+        for (int i = 0; i < record.size(); i++) {
+            String value = record.get(i).isBlank() ? null : record.get(i).trim();
+            if (value == null) {
+                continue;
+            }
+            switch (columns[i]) {
+                case "isbn" -> bookDTO.setIsbn(value);
+                case "title" -> bookDTO.setTitle(value);
+                case "author" -> bookDTO.setAuthor(value);
+                case "description" -> bookDTO.setDescription(value);
+                case "publisher" -> bookDTO.setPublisher(value);
+                case "publisheddate" -> bookDTO.setPublishedDate(value);
+                case "pagecount" -> bookDTO.setPageCount(parseInteger(columns[i], value));
+                case "category" -> bookDTO.setCategory(value);
+                case "rating" -> bookDTO.setRating(parseDouble(columns[i], value));
+                case "thumbnailurl" -> bookDTO.setThumbnailUrl(value);
+                case "language" -> bookDTO.setLanguage(value);
+                default -> {
+                    // id, timestamps and unknown columns are not imported
+                }
+            }
+        }
+        return bookDTO;
+    }
+
+    public static List<String> toRecord(BookDTO bookDTO) {
+        return Arrays.asList(
+                toString(bookDTO.getId()),
+                bookDTO.getIsbn(),
+                bookDTO.getTitle(),
+                bookDTO.getAuthor(),
+                bookDTO.getDescription(),
+                bookDTO.getPublisher(),
+                bookDTO.getPublishedDate(),
+                toString(bookDTO.getPageCount()),
+                bookDTO.getCategory(),
+                toString(bookDTO.getRating()),
+                bookDTO.getThumbnailUrl(),
+                bookDTO.getLanguage(),
+                toString(bookDTO.getCreatedAt()),
+                toString(bookDTO.getUpdatedAt()));
+    }
+
+    private static String toString(Object value) {
+        return Objects.toString(value, null);
+    }
+
+    private static Integer parseInteger(String column, String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(column + ": not a whole number: " + value);
+        }
+    }
+
+    private static Double parseDouble(String column, String value) {
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(column + ": not a number: " + value);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.interview.bookapi.util;
+
+import com.interview.bookapi.dto.BookDTO;
+import com.interview.bookapi.dto.BookDetailDTO;
+import com.interview.bookapi.entity.Book;
+
+/**
+ * Field-by-field mapping between {@link Book} and its DTOs. Same result as
+ * {@code BeanUtils.copyProperties} with the noted ignore lists, without the per-call
+ * reflective property lookups. Update together with the entity and DTO fields.
+ */
+public final class BookMapper {
+
+    private BookMapper() {
+    }
+
+    public static BookDTO toBookDTO(Book book) {
+        BookDTO bookDTO = new BookDTO();
+        bookDTO.setId(book.getId());
+        bookDTO.setIsbn(book.getIsbn());
+        bookDTO.setTitle(book.getTitle());
+        bookDTO.setAuthor(book.getAuthor());
+        bookDTO.setDescription(book.getDescription());
+        bookDTO.setPublisher(book.getPublisher());
+        bookDTO.setPublishedDate(book.getPublishedDate());
+        bookDTO.setPageCount(book.getPageCount());
+        bookDTO.setCategory(book.getCategory());
+        bookDTO.setRating(book.getRating());
+        bookDTO.setThumbnailUrl(book.getThumbnailUrl());
+        bookDTO.setLanguage(book.getLanguage());
+        bookDTO.setCreatedAt(book.getCreatedAt());
+        bookDTO.setUpdatedAt(book.getUpdatedAt());
+        bookDTO.setVersion(book.getVersion());
+        return bookDTO;
+    }
+
+    public static BookDetailDTO toBookDetailDTO(Book book) {
+        BookDetailDTO bookDetailDTO = new BookDetailDTO();
+        bookDetailDTO.setId(book.getId());
+        bookDetailDTO.setIsbn(book.getIsbn());
+        bookDetailDTO.setTitle(book.getTitle());
+        bookDetailDTO.setAuthor(book.getAuthor());
+        bookDetailDTO.setDescription(book.getDescription());
+        bookDetailDTO.setPublisher(book.getPublisher());
+        bookDetailDTO.setPublishedDate(book.getPublishedDate());
+        bookDetailDTO.setPageCount(book.getPageCount());
+        bookDetailDTO.setCategory(book.getCategory());
+        bookDetailDTO.setRating(book.getRating());
+        bookDetailDTO.setThumbnailUrl(book.getThumbnailUrl());
+        bookDetailDTO.setLanguage(book.getLanguage());
+        bookDetailDTO.setPreviewLink(book.getPreviewLink());
+        bookDetailDTO.setInfoLink(book.getInfoLink());
+        bookDetailDTO.setIsEbook(book.getIsEbook());
+        bookDetailDTO.setTextSnippet(book.getTextSnippet());
+        bookDetailDTO.setEnrichedAt(book.getEnrichedAt());
+        bookDetailDTO.setCreatedAt(book.getCreatedAt());
+        bookDetailDTO.setUpdatedAt(book.getUpdatedAt());
+        bookDetailDTO.setVersion(book.getVersion());
+        return bookDetailDTO;
+    }
+
+    /**
+     * New entity from client data; {@code id}, {@code createdAt}, {@code updatedAt} and
+     * {@code version} are left for the persistence layer to assign.
+     */
+    public static Book toNewBook(BookDTO bookDTO) {
+        Book book = new Book();
+        copyEditableFields(bookDTO, book);
+        return book;
+    }
+
+    /**
+     * Overwrites {@code book} with client data, except {@code id}, {@code createdAt} and
+     * {@code version}. Nulls are copied, as with a full PUT.
+     */
+    public static void updateBook(BookDTO bookDTO, Book book) {
+        copyEditableFields(bookDTO, book);
+        book.setUpdatedAt(bookDTO.getUpdatedAt());
+    }
+
+    private static void copyEditableFields(BookDTO bookDTO, Book book) {
+        // isbn is unique; a blank one is stored as null so books without an ISBN don't collide
+        String isbn = bookDTO.getIsbn();
+        book.setIsbn(isbn == null || isbn.isBlank() ? null : isbn);
+        book.setTitle(bookDTO.getTitle());
+        book.setAuthor(bookDTO.getAuthor());
+        book.setDescription(bookDTO.getDescription());
+        book.setPublisher(bookDTO.getPublisher());
+        book.setPublishedDate(bookDTO.getPublishedDate());
+        book.setPageCount(bookDTO.getPageCount());
+        book.setCategory(bookDTO.getCategory());
+        book.setRating(bookDTO.getRating());
+        book.setThumbnailUrl(bookDTO.getThumbnailUrl());
+        book.setLanguage(bookDTO.getLanguage());
+    }
+}
@@ -0,0 +1,110 @@
+package com.interview.bookapi.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader that pulls one record at a time from the underlying reader.
+ * Quoted fields may contain separators, escaped quotes ({@code ""}) and line breaks.
+ */
+public class CsvReader {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private int pushedBack = Integer.MIN_VALUE;
+    private int previous = EOF;
+    private long lineNumber = 1;
+    private long recordStartLine = 1;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the fields of the next record, or {@code null} at end of input.
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        // Skip empty lines between records
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == EOF) {
+            return null;
+        }
+        recordStartLine = lineNumber;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldWasQuoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordStartLine);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty() && !fieldWasQuoted) {
+                quoted = true;
+                fieldWasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldWasQuoted = false;
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Line on which the most recently returned record started (1-based).
+     */
+    public long getRecordStartLine() {
+        return recordStartLine;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != Integer.MIN_VALUE) {
+            // Already counted when it was first read
+            int c = pushedBack;
+            pushedBack = Integer.MIN_VALUE;
+            return c;
+        }
+        int c = reader.read();
+        // Lines end with \n, \r\n or a lone \r (old Mac files); \r\n is counted once, at the \r
+        if (c == '\r' || (c == '\n' && previous != '\r')) {
+            lineNumber++;
+        }
+        previous = c;
+        return c;
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
@@ -0,0 +1,34 @@
+package com.interview.bookapi.util;
+
+import com.interview.bookapi.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Opaque position in a keyset-paginated listing: the sort column, the value of that column
+ * and the id of the last row returned. Encoded as URL-safe Base64.
+ */
+public record KeysetCursor(String sortField, Long id, String sortValue) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = sortField + SEPARATOR + id + SEPARATOR + sortValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor, String expectedSortField) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(Pattern.quote(SEPARATOR), 3);
+            if (parts.length == 3 && parts[0].equals(expectedSortField)) {
+                return new KeysetCursor(parts[0], Long.valueOf(parts[1]), parts[2]);
+            }
+        } catch (IllegalArgumentException ex) {
+            // Malformed Base64 or id, reported below
+        }
+        throw new InvalidRequestException("Invalid cursor for sort by " + expectedSortField + ": " + cursor);
+    }
+}
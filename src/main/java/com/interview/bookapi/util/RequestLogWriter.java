@@ -0,0 +1,161 @@
+package com.interview.bookapi.util;
+
+import com.interview.bookapi.config.RequestLoggingProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sampled request/response logging. Request threads only copy a bounded snapshot of each
+ * exchange into a {@link DroppingRingBuffer}; a background thread formats and writes it.
+ * When the buffer is full the event is dropped and counted rather than blocking the request.
+ */
+@Component
+public class RequestLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestLogWriter.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private record Event(String method, String uri, String query, int status, long durationMillis,
+                         List<String> headers, byte[] requestBody, int requestBodyLength, Charset requestCharset,
+                         byte[] responseBody, long responseBodyLength, Charset responseCharset) {
+    }
+
+    private final RequestLoggingProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final DroppingRingBuffer<Event> buffer;
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public RequestLogWriter(RequestLoggingProperties properties) {
+        this.properties = properties;
+        this.buffer = new DroppingRingBuffer<>(properties.getBufferCapacity());
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = Thread.ofPlatform().name("request-log-writer").daemon().start(this::drain);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(1));
+    }
+
+    public boolean isSampled(String path) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        double sampleRate = properties.getSampleRate();
+        for (RequestLoggingProperties.Route route : properties.getRoutes()) {
+            if (pathMatcher.match(route.getPattern(), path)) {
+                sampleRate = route.getSampleRate();
+                break;
+            }
+        }
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    public void log(ContentCachingRequestWrapper request, TeeResponseWrapper response, long durationNanos) {
+        int maxBodySize = properties.getMaxBodySize();
+        byte[] requestBody = request.getContentAsByteArray();
+        int requestBodyLength = requestBody.length;
+        Event event = new Event(request.getMethod(), request.getRequestURI(), request.getQueryString(),
+                response.getStatus(), TimeUnit.NANOSECONDS.toMillis(durationNanos), headers(request, response),
+                requestBodyLength > maxBodySize ? Arrays.copyOf(requestBody, maxBodySize) : requestBody,
+                Math.max(requestBodyLength, request.getContentLength()), charset(request.getCharacterEncoding()),
+                response.getCapturedBody(), response.getBodyLength(), charset(response.getCharacterEncoding()));
+        if (!buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    long droppedCount() {
+        return dropped.sum();
+    }
+
+    // Allow-listed headers only; anything else (Authorization, Cookie, ...) never reaches the log
+    List<String> headers(HttpServletRequest request, HttpServletResponse response) {
+        List<String> headers = new ArrayList<>(properties.getHeaders().size());
+        for (String name : properties.getHeaders()) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                headers.add("> " + name + ": " + value);
+            }
+        }
+        for (String name : properties.getHeaders()) {
+            String value = response.getHeader(name);
+            if (value != null) {
+                headers.add("< " + name + ": " + value);
+            }
+        }
+        return headers;
+    }
+
+    private void drain() {
+        while (running) {
+            Event event = buffer.poll();
+            if (event == null) {
+                reportDropped();
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            } else {
+                write(event);
+            }
+        }
+        for (Event event = buffer.poll(); event != null; event = buffer.poll()) {
+            write(event);
+        }
+        reportDropped();
+    }
+
+    private void write(Event event) {
+        String query = event.query() == null ? "" : "?" + event.query();
+        logger.info("{} {}{} - STATUS: {} - {} ms, headers: {}, request body: {}, response body: {}",
+                event.method(), event.uri(), query, event.status(), event.durationMillis(), event.headers(),
+                body(event.requestBody(), event.requestBodyLength(), event.requestCharset()),
+                body(event.responseBody(), event.responseBodyLength(), event.responseCharset()));
+    }
+
+    private void reportDropped() {
+        long count = dropped.sumThenReset();
+        if (count > 0) {
+            logger.warn("Dropped {} request log events, buffer of {} was full", count, buffer.capacity());
+        }
+    }
+
+    private static String body(byte[] content, long totalLength, Charset charset) {
+        if (totalLength <= 0) {
+            return "-";
+        }
+        String text = new String(content, charset);
+        return content.length < totalLength ? text + "... [" + totalLength + " bytes]" : text;
+    }
+
+    private static Charset charset(String encoding) {
+        try {
+            return encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        } catch (IllegalArgumentException ex) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.interview.bookapi.util;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Response wrapper that writes straight through to the client while keeping a copy of the
+ * first {@code captureLimit} bytes for logging. Unlike {@code ContentCachingResponseWrapper}
+ * nothing is held back, so streaming responses keep streaming and memory use stays bounded.
+ */
+public class TeeResponseWrapper extends HttpServletResponseWrapper {
+
+    private final byte[] captured;
+    private int capturedLength;
+    private long bodyLength;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    public TeeResponseWrapper(HttpServletResponse response, int captureLimit) {
+        super(response);
+        this.captured = new byte[captureLimit];
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            outputStream = new TeeOutputStream(super.getOutputStream());
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, charset()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    // Discards the unwritten body along with its capture. Characters still buffered in the writer
+    // are dropped by replacing it: flushing them would commit the response.
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        clearCapture();
+        if (writer != null) {
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, charset()));
+        }
+    }
+
+    // Also lets the next caller choose between getWriter() and getOutputStream() again, as containers do
+    @Override
+    public void reset() {
+        super.reset();
+        clearCapture();
+        writer = null;
+        outputStream = null;
+    }
+
+    /**
+     * Pushes any characters still buffered in the writer through to the client.
+     */
+    public void finish() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    public byte[] getCapturedBody() {
+        return Arrays.copyOf(captured, capturedLength);
+    }
+
+    public long getBodyLength() {
+        return bodyLength;
+    }
+
+    private Charset charset() {
+        String encoding = getCharacterEncoding();
+        return encoding == null ? StandardCharsets.ISO_8859_1 : Charset.forName(encoding);
+    }
+
+    private void clearCapture() {
+        capturedLength = 0;
+        bodyLength = 0;
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        int count = Math.min(length, captured.length - capturedLength);
+        if (count > 0) {
+            System.arraycopy(bytes, offset, captured, capturedLength, count);
+            capturedLength += count;
+        }
+        bodyLength += length;
+    }
+
+    private class TeeOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+
+        TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            if (capturedLength < captured.length) {
+                captured[capturedLength++] = (byte) b;
+            }
+            bodyLength++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
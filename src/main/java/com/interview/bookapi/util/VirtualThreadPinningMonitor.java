@@ -0,0 +1,84 @@
+package com.interview.bookapi.util;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events and logs them. Pinning whose stack
+ * passes through application code (typically a blocking call inside a {@code synchronized}
+ * block) is logged at WARN, pinning inside libraries at DEBUG.
+ */
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.interview.bookapi";
+    private static final int MAX_FRAMES = 32;
+
+    private final RecordingStream recordingStream;
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private final AtomicLong applicationPinnedCount = new AtomicLong();
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.recordingStream = new RecordingStream();
+        this.recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        this.recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        this.recordingStream.startAsync();
+        logger.info("Virtual thread pinning monitor started (threshold: {} ms)", threshold.toMillis());
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    public long getApplicationPinnedCount() {
+        return applicationPinnedCount.get();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            logger.debug("Virtual thread pinned for {} ms (no stack trace)", event.getDuration().toMillis());
+            return;
+        }
+
+        boolean inApplicationCode = false;
+        StringBuilder frames = new StringBuilder();
+        int count = 0;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String className = frame.getMethod().getType().getName();
+            inApplicationCode |= className.startsWith(APPLICATION_PACKAGE);
+            if (count++ < MAX_FRAMES) {
+                frames.append(System.lineSeparator()).append("\tat ")
+                        .append(className).append('.').append(frame.getMethod().getName())
+                        .append(':').append(frame.getLineNumber());
+            }
+        }
+
+        if (inApplicationCode) {
+            applicationPinnedCount.incrementAndGet();
+            logger.warn("Virtual thread pinned for {} ms in application code:{}",
+                    event.getDuration().toMillis(), frames);
+        } else {
+            logger.debug("Virtual thread pinned for {} ms:{}", event.getDuration().toMillis(), frames);
+        }
+    }
+
+    @Override
+    public void close() {
+        recordingStream.close();
+        logger.info("Virtual thread pinning monitor stopped ({} pinned events, {} in application code)",
+                pinnedCount.get(), applicationPinnedCount.get());
+    }
+}
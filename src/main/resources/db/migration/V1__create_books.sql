@@ -0,0 +1,40 @@
+-- Matches the pooled id generator on Book (allocationSize = 50)
+create sequence books_seq start with 1 increment by 50;
+
+create table books (
+    id             bigint        not null,
+    title          varchar(255)  not null,
+    author         varchar(255)  not null,
+    description    varchar(500),
+    isbn           varchar(255),
+    category       varchar(255),
+    page_count     integer,
+    publisher      varchar(255),
+    published_date varchar(255),
+    thumbnail_url  varchar(255),
+    rating         double precision,
+    language       varchar(255),
+    preview_link   varchar(255),
+    info_link      varchar(255),
+    is_ebook       boolean,
+    text_snippet   varchar(1000),
+    enriched_at    timestamp(6),
+    created_at     timestamp(6)  not null,
+    updated_at     timestamp(6),
+    version        bigint,
+    constraint pk_books primary key (id)
+);
+
+-- findByIsbn and the import/batch paths; several books without an ISBN (null) are allowed
+create unique index ux_books_isbn on books (isbn);
+
+-- Default listing order (createdAt desc) and its keyset cursor (created_at, id)
+create index ix_books_created_at_id on books (created_at desc, id desc);
+
+-- Keyset search by field: order by <field>, id and seek past the last (<field>, id)
+create index ix_books_title_id on books (title, id);
+create index ix_books_author_id on books (author, id);
+create index ix_books_category_id on books (category, id);
+
+-- Enrichment worker: never-enriched (null) and stale rows first
+create index ix_books_enriched_at_id on books (enriched_at, id);
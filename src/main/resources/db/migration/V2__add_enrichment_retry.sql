@@ -0,0 +1,3 @@
+-- Enrichment worker backoff: consecutive failed lookups and the earliest time of the next attempt
+alter table books add column enrichment_attempts integer;
+alter table books add column next_enrichment_at timestamp(6);
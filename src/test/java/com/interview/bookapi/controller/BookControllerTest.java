@@ -0,0 +1,126 @@
+package com.interview.bookapi.controller;
+
+import com.interview.bookapi.dto.BookDTO;
+import com.interview.bookapi.dto.CursorPageDTO;
+import com.interview.bookapi.event.BooksSavedEvent;
+import com.interview.bookapi.exception.PreconditionFailedException;
+import com.interview.bookapi.service.BookExportService;
+import com.interview.bookapi.service.BookImportService;
+import com.interview.bookapi.service.BookService;
+import com.interview.bookapi.service.CatalogVersionTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BookControllerTest {
+
+    private BookService bookService;
+    private CatalogVersionTracker catalogVersionTracker;
+    private BookController controller;
+
+    @BeforeEach
+    void setUp() {
+        bookService = mock(BookService.class);
+        catalogVersionTracker = new CatalogVersionTracker();
+        controller = new BookController(bookService, mock(BookImportService.class), mock(BookExportService.class),
+                catalogVersionTracker);
+    }
+
+    @Test
+    void getBookById_WhenETagMatches_ShouldAnswerNotModifiedFromOneLoad() {
+        // Given
+        BookDTO book = new BookDTO();
+        book.setId(7L);
+        book.setVersion(3L);
+        book.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        when(bookService.getBookById(7L)).thenReturn(book);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        ResponseEntity<BookDTO> result = controller.getBookById(7L, request(HttpHeaders.IF_NONE_MATCH, "\"7-3\"", response));
+
+        // Then
+        assertNull(result);
+        assertEquals(304, response.getStatus());
+        verify(bookService, times(1)).getBookById(7L);
+    }
+
+    @Test
+    void getAllBooks_WithCursor_ShouldValidateWithoutQueryingUntilCatalogChanges() {
+        // Given
+        when(bookService.getAllBooks("abc", 10)).thenReturn(new CursorPageDTO<>(List.of(), 0, false, null));
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        controller.getAllBooks(0, 10, "abc", false, request(HttpHeaders.IF_NONE_MATCH, "\"other\"", first));
+        String eTag = first.getHeader(HttpHeaders.ETAG);
+
+        // When
+        MockHttpServletResponse unchanged = new MockHttpServletResponse();
+        ResponseEntity<?> notModified = controller.getAllBooks(0, 10, "abc", false,
+                request(HttpHeaders.IF_NONE_MATCH, eTag, unchanged));
+        catalogVersionTracker.onBooksSaved(new BooksSavedEvent(List.of()));
+        MockHttpServletResponse changed = new MockHttpServletResponse();
+        ResponseEntity<?> modified = controller.getAllBooks(0, 10, "abc", false,
+                request(HttpHeaders.IF_NONE_MATCH, eTag, changed));
+
+        // Then
+        assertNotNull(eTag);
+        assertNull(notModified);
+        assertEquals(304, unchanged.getStatus());
+        assertNotNull(modified);
+        assertNotEquals(eTag, changed.getHeader(HttpHeaders.ETAG));
+        verify(bookService, times(2)).getAllBooks("abc", 10);
+    }
+
+    @Test
+    void versionFromIfMatch_WithOwnStrongTag_ShouldReturnVersion() {
+        assertEquals(3L, BookController.versionFromIfMatch(7L, "\"7-3\""));
+        assertEquals(3L, BookController.versionFromIfMatch(7L, "  \"7-3\"  "));
+    }
+
+    @Test
+    void versionFromIfMatch_WithSeveralTags_ShouldUseTheOneForThisBook() {
+        assertEquals(3L, BookController.versionFromIfMatch(7L, "\"8-1\", \"7-3\""));
+        assertEquals(3L, BookController.versionFromIfMatch(7L, "\"details-7-2-1700000000000\",\"7-3\",\"7-4\""));
+    }
+
+    @Test
+    void versionFromIfMatch_WithoutHeaderOrWithWildcard_ShouldNotRequireAVersion() {
+        assertNull(BookController.versionFromIfMatch(7L, null));
+        assertNull(BookController.versionFromIfMatch(7L, "*"));
+        assertNull(BookController.versionFromIfMatch(7L, " * "));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "W/\"7-3\"",              // weak tags never match under the strong comparison If-Match uses
+            "\"17-3\"",               // another book whose id ends in 7
+            "\"8-3\"",                // another book
+            "\"7-\"",                 // no version
+            "\"7-abc\"",              // not a number
+            "\"details-7-3-1\"",      // the details representation
+            "7-3",                    // unquoted
+            "\"\"",
+            ""
+    })
+    void versionFromIfMatch_WithTagNotForThisBook_ShouldFailPrecondition(String ifMatch) {
+        assertThrows(PreconditionFailedException.class, () -> BookController.versionFromIfMatch(7L, ifMatch));
+    }
+
+    private static ServletWebRequest request(String header, String value, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.addHeader(header, value);
+        return new ServletWebRequest(request, response);
+    }
+}
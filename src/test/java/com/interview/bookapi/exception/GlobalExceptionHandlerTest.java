@@ -0,0 +1,48 @@
+package com.interview.bookapi.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/books");
+
+    @Test
+    void handleDataIntegrityViolationException_WithDuplicateIsbn_ShouldReturnConflict() {
+        // Given
+        DataIntegrityViolationException ex = violation("PUBLIC.UX_BOOKS_ISBN ON PUBLIC.BOOKS(ISBN NULLS FIRST)");
+
+        // When
+        ResponseEntity<ApiError> response = handler.handleDataIntegrityViolationException(ex, request);
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("A book with the same ISBN already exists", response.getBody().getMessage());
+    }
+
+    @Test
+    void handleDataIntegrityViolationException_WithOtherConstraint_ShouldNotReportDuplicate() {
+        // When
+        ResponseEntity<ApiError> notNull = handler.handleDataIntegrityViolationException(violation("TITLE"), request);
+        ResponseEntity<ApiError> unnamed = handler.handleDataIntegrityViolationException(
+                new DataIntegrityViolationException("Value too long for column DESCRIPTION"), request);
+
+        // Then
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, notNull.getStatusCode());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, unnamed.getStatusCode());
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException("violation"), constraintName));
+    }
+}
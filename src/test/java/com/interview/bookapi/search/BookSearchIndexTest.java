@@ -0,0 +1,233 @@
+package com.interview.bookapi.search;
+
+import com.interview.bookapi.dto.BookDTO;
+import com.interview.bookapi.entity.Book;
+import com.interview.bookapi.event.BooksDeletedEvent;
+import com.interview.bookapi.event.BooksSavedEvent;
+import com.interview.bookapi.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @TempDir
+    Path indexDirectory;
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = openIndex();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveDescriptionMatches() throws IOException {
+        // Given
+        save(book(1L, "Cooking at Home", "Chef", "A book about gardens"),
+                book(2L, "Gardens of the World", "Botanist", "Plants and flowers"));
+
+        // When
+        BookSearchIndex.Hits hits = index.search("gardens", BookSearchIndex.ALL_FIELDS, 0, 10);
+
+        // Then
+        assertEquals(2, hits.totalHits());
+        assertEquals(List.of(2L, 1L), hits.ids());
+    }
+
+    @Test
+    void search_ShouldRankExactMatchesAbovePrefixAndFuzzyMatches() throws IOException {
+        // Given
+        save(book(1L, "Gatsby", "A", null), book(2L, "Gatsbyesque", "B", null), book(3L, "Gatsbi", "C", null));
+
+        // When
+        BookSearchIndex.Hits exact = index.search("gatsby", "title", 0, 10);
+        BookSearchIndex.Hits prefix = index.search("gats", "title", 0, 10);
+
+        // Then
+        assertEquals(1L, exact.ids().get(0));
+        assertTrue(exact.ids().containsAll(List.of(2L, 3L)));
+        assertEquals(3, prefix.totalHits());
+    }
+
+    @Test
+    void search_ShouldMatchEveryTermWithinTheRequestedField() throws IOException {
+        // Given
+        save(book(1L, "Dune", "Frank Herbert", null), book(2L, "Frankenstein", "Mary Shelley", null));
+
+        // When & Then
+        assertEquals(List.of(1L), index.search("frank herbert", BookSearchIndex.ALL_FIELDS, 0, 10).ids());
+        assertEquals(List.of(1L), index.search("herbrt", "author", 0, 10).ids());
+        assertEquals(List.of(2L), index.search("frank", "title", 0, 10).ids());
+        assertTrue(index.search("dune", "author", 0, 10).ids().isEmpty());
+        assertTrue(index.search("  ", BookSearchIndex.ALL_FIELDS, 0, 10).ids().isEmpty());
+    }
+
+    @Test
+    void search_ShouldPageThroughHits() throws IOException {
+        // Given
+        save(book(1L, "Java One", "A", null), book(2L, "Java Two", "B", null), book(3L, "Java Three", "C", null));
+
+        // When
+        BookSearchIndex.Hits page = index.search("java", "title", 2, 2);
+
+        // Then
+        assertEquals(3, page.totalHits());
+        assertEquals(1, page.ids().size());
+    }
+
+    @Test
+    void onBooksSavedAndDeleted_ShouldReplaceAndRemoveDocuments() throws IOException {
+        // Given
+        save(book(1L, "Dune", "Frank Herbert", null));
+
+        // When
+        save(book(1L, "Children of Dune", "Frank Herbert", null));
+
+        // Then
+        assertEquals(List.of(1L), index.search("children", "title", 0, 10).ids());
+        assertEquals(1, index.search("dune", "title", 0, 10).totalHits());
+
+        // When
+        index.onBooksDeleted(new BooksDeletedEvent(List.of(1L)));
+
+        // Then
+        assertEquals(0, index.search("dune", "title", 0, 10).totalHits());
+    }
+
+    @Test
+    void rebuildIfStale_WhenCommittedIndexMatchesDatabase_ShouldNotRebuild() throws IOException {
+        // Given
+        save(book(1L, "Dune", "Frank Herbert", null));
+        index.commit();
+        index = reopen();
+        when(bookRepository.count()).thenReturn(1L);
+        when(bookRepository.findLastModified()).thenReturn(CREATED);
+
+        // When
+        index.rebuildIfStale();
+
+        // Then
+        verify(bookRepository, never()).streamAllBy();
+        assertEquals(List.of(1L), index.search("dune", "title", 0, 10).ids());
+    }
+
+    @Test
+    void rebuildIfStale_WhenDatabaseHasLaterWriteWithSameCount_ShouldRebuild() throws IOException {
+        // Given
+        save(book(1L, "Dune", "Frank Herbert", null));
+        index.commit();
+        index = reopen();
+        // The title changed while the index was not listening
+        Book renamed = entity(1L, "Dune Messiah", CREATED.plusHours(1));
+        when(bookRepository.count()).thenReturn(1L);
+        when(bookRepository.findLastModified()).thenReturn(renamed.getUpdatedAt());
+        givenDatabaseContains(renamed);
+
+        // When
+        index.rebuildIfStale();
+
+        // Then
+        verify(bookRepository).streamAllBy();
+        assertEquals(List.of(1L), index.search("messiah", "title", 0, 10).ids());
+
+        // And the rebuilt index is not stale on the next start
+        index = reopen();
+        index.rebuildIfStale();
+        verify(bookRepository, times(1)).streamAllBy();
+    }
+
+    @Test
+    void rebuildIfStale_WhenDatabaseHasDifferentCount_ShouldRebuild() throws IOException {
+        // Given
+        save(book(1L, "Dune", "Frank Herbert", null), book(2L, "Emma", "Jane Austen", null));
+        index.commit();
+        index = reopen();
+        // Book 2 was deleted while the index was not listening
+        when(bookRepository.count()).thenReturn(1L);
+        when(bookRepository.findLastModified()).thenReturn(CREATED);
+        givenDatabaseContains(entity(1L, "Dune", CREATED));
+
+        // When
+        index.rebuildIfStale();
+
+        // Then
+        assertEquals(0, index.search("emma", "title", 0, 10).totalHits());
+        assertEquals(1, index.search("dune", "title", 0, 10).totalHits());
+    }
+
+    private BookSearchIndex openIndex() throws IOException {
+        BookSearchIndex opened = new BookSearchIndex(bookRepository, transactionTemplate, entityManager, indexDirectory.toString());
+        opened.open();
+        return opened;
+    }
+
+    private BookSearchIndex reopen() throws IOException {
+        index.close();
+        return openIndex();
+    }
+
+    private void givenDatabaseContains(Book... books) {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Long>>getArgument(0).doInTransaction(null));
+        when(bookRepository.streamAllBy()).thenAnswer(invocation -> List.of(books).stream());
+    }
+
+    private void save(BookDTO... books) {
+        index.onBooksSaved(new BooksSavedEvent(List.of(books)));
+    }
+
+    private static BookDTO book(Long id, String title, String author, String description) {
+        BookDTO book = new BookDTO();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setDescription(description);
+        book.setCreatedAt(CREATED);
+        book.setUpdatedAt(CREATED);
+        return book;
+    }
+
+    private static Book entity(Long id, String title, LocalDateTime updatedAt) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor("Frank Herbert");
+        book.setCreatedAt(CREATED);
+        book.setUpdatedAt(updatedAt);
+        return book;
+    }
+}
@@ -0,0 +1,124 @@
+package com.interview.bookapi.search;
+
+import com.interview.bookapi.dto.BookDTO;
+import com.interview.bookapi.dto.BookSuggestionDTO;
+import com.interview.bookapi.event.BooksDeletedEvent;
+import com.interview.bookapi.event.BooksSavedEvent;
+import com.interview.bookapi.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class BookSuggestIndexTest {
+
+    private BookSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // The repository is only used by build(); these tests feed the index through events
+        index = new BookSuggestIndex(mock(BookRepository.class), mock(TransactionTemplate.class), mock(EntityManager.class));
+    }
+
+    @Test
+    void suggest_ShouldRankWholeValueMatchesBeforeLaterWordMatches() {
+        // Given
+        save(book(1L, "The Great Gatsby", "F. Scott Fitzgerald"), book(2L, "Gatsby Returns", "Someone Else"));
+
+        // When
+        List<BookSuggestionDTO> suggestions = index.suggest("gat", 10);
+
+        // Then
+        assertEquals(List.of(
+                new BookSuggestionDTO("Gatsby Returns", BookSuggestionDTO.Field.TITLE, 2L),
+                new BookSuggestionDTO("The Great Gatsby", BookSuggestionDTO.Field.TITLE, 1L)), suggestions);
+    }
+
+    @Test
+    void suggest_ShouldIgnoreCaseAndExtraWhitespace() {
+        // Given
+        save(book(1L, "The Great Gatsby", "F. Scott Fitzgerald"));
+
+        // When
+        List<BookSuggestionDTO> suggestions = index.suggest("  THE   great", 10);
+
+        // Then
+        assertEquals(1, suggestions.size());
+        assertEquals("The Great Gatsby", suggestions.get(0).getText());
+    }
+
+    @Test
+    void suggest_ShouldSuggestAuthorOfManyBooksOnce() {
+        // Given
+        List<BookDTO> books = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            books.add(book(id, "Discworld " + id, "Terry Pratchett"));
+        }
+        books.add(book(101L, "Pratchett's Guide", "Fan Writer"));
+        save(books.toArray(new BookDTO[0]));
+
+        // When
+        List<BookSuggestionDTO> byWord = index.suggest("pra", 10);
+        List<BookSuggestionDTO> byPhrase = index.suggest("terry", 10);
+
+        // Then
+        assertEquals(List.of(
+                new BookSuggestionDTO("Pratchett's Guide", BookSuggestionDTO.Field.TITLE, 101L),
+                new BookSuggestionDTO("Terry Pratchett", BookSuggestionDTO.Field.AUTHOR, null)), byWord);
+        assertEquals(List.of(new BookSuggestionDTO("Terry Pratchett", BookSuggestionDTO.Field.AUTHOR, null)), byPhrase);
+    }
+
+    @Test
+    void suggest_ShouldStopAtLimit() {
+        // Given
+        save(book(1L, "Alpha", "X"), book(2L, "Alpine", "Y"), book(3L, "Altitude", "Z"), book(4L, "Always", "W"));
+
+        // When & Then
+        assertEquals(3, index.suggest("al", 3).size());
+        assertEquals(4, index.suggest("al", 10).size());
+        assertTrue(index.suggest("al", 0).isEmpty());
+        assertTrue(index.suggest(" ", 10).isEmpty());
+    }
+
+    @Test
+    void onBooksSavedAndDeleted_ShouldReplaceAndRemoveOldKeys() {
+        // Given
+        save(book(1L, "Dune", "Frank Herbert"));
+        assertEquals("Dune", index.suggest("du", 10).get(0).getText());
+
+        // When
+        save(book(1L, "Children of Dune", "Frank Herbert"));
+
+        // Then
+        List<BookSuggestionDTO> afterUpdate = index.suggest("dune", 10);
+        assertEquals(1, afterUpdate.size());
+        assertEquals("Children of Dune", afterUpdate.get(0).getText());
+        assertEquals(1, index.size());
+
+        // When
+        index.onBooksDeleted(new BooksDeletedEvent(List.of(1L)));
+
+        // Then
+        assertTrue(index.suggest("dune", 10).isEmpty());
+        assertTrue(index.suggest("frank", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    private void save(BookDTO... books) {
+        index.onBooksSaved(new BooksSavedEvent(List.of(books)));
+    }
+
+    private static BookDTO book(Long id, String title, String author) {
+        BookDTO book = new BookDTO();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        return book;
+    }
+}
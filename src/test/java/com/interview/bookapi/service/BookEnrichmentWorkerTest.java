@@ -0,0 +1,210 @@
+package com.interview.bookapi.service;
+
+import com.interview.bookapi.dto.EnrichmentCandidateDTO;
+import com.interview.bookapi.dto.GoogleBookResponse;
+import com.interview.bookapi.entity.Book;
+import com.interview.bookapi.exception.GoogleBooksRateLimitException;
+import com.interview.bookapi.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookEnrichmentWorkerTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private GoogleBooksApiService googleBooksApiService;
+
+    @Mock
+    private GoogleBooksRateLimiter rateLimiter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookEnrichmentWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new BookEnrichmentWorker(bookRepository, googleBooksApiService, rateLimiter,
+                new TransactionTemplate(transactionManager), 10, 2, Duration.ofDays(1),
+                Duration.ofSeconds(30), Duration.ofHours(4));
+        when(rateLimiter.hasQuota(LookupPriority.BACKGROUND)).thenReturn(true);
+    }
+
+    @Test
+    void enrichPendingBooks_WhenNoVolumeFound_ShouldClearStoredDataAndMarkEnriched() {
+        // Given
+        Book book = book(1L, "1111111111");
+        book.setInfoLink("http://old.info.link");
+        givenCandidates(new EnrichmentCandidateDTO(1L, "1111111111"));
+        when(googleBooksApiService.searchBooksByIsbn("1111111111", LookupPriority.BACKGROUND))
+                .thenReturn(Mono.just(new GoogleBookResponse()));
+        when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(book));
+
+        // When
+        worker.enrichPendingBooks();
+
+        // Then
+        assertNotNull(book.getEnrichedAt());
+        assertNull(book.getInfoLink());
+        verify(bookRepository, times(1)).flush();
+    }
+
+    @Test
+    void enrichPendingBooks_WhenLookupFails_ShouldRecordAttemptAndBackOff() {
+        // Given
+        Book book = book(1L, "1111111111");
+        Book failing = book(2L, "2222222222");
+        givenCandidates(new EnrichmentCandidateDTO(1L, "1111111111"), new EnrichmentCandidateDTO(2L, "2222222222"));
+        when(googleBooksApiService.searchBooksByIsbn("1111111111", LookupPriority.BACKGROUND))
+                .thenReturn(Mono.just(response("http://test.info.link")));
+        when(googleBooksApiService.searchBooksByIsbn("2222222222", LookupPriority.BACKGROUND))
+                .thenReturn(Mono.error(new IllegalStateException("circuit open")));
+        when(bookRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(book, failing));
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        worker.enrichPendingBooks();
+
+        // Then
+        assertEquals("http://test.info.link", book.getInfoLink());
+        assertNotNull(book.getEnrichedAt());
+        assertTrue(book.isEnrichmentOnly());
+        assertNull(failing.getEnrichedAt());
+        assertEquals(1, failing.getEnrichmentAttempts());
+        assertFalse(failing.getNextEnrichmentAt().isBefore(before.plusHours(4)));
+        assertTrue(failing.isEnrichmentOnly());
+    }
+
+    @Test
+    void enrichPendingBooks_WhenLookupKeepsFailing_ShouldDoubleBackoffUpToStaleAfter() {
+        // Given
+        Book book = book(1L, "1111111111");
+        book.setEnrichmentAttempts(2);
+        givenCandidates(new EnrichmentCandidateDTO(1L, "1111111111"));
+        when(googleBooksApiService.searchBooksByIsbn("1111111111", LookupPriority.BACKGROUND))
+                .thenReturn(Mono.error(new IllegalStateException("circuit open")));
+        when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(book));
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        worker.enrichPendingBooks();
+
+        // Then: 4h * 2^2 = 16h for the third attempt, then capped at one day
+        assertEquals(3, book.getEnrichmentAttempts());
+        assertFalse(book.getNextEnrichmentAt().isBefore(before.plusHours(16)));
+        assertTrue(book.getNextEnrichmentAt().isBefore(before.plusHours(17)));
+
+        worker.enrichPendingBooks();
+
+        assertEquals(4, book.getEnrichmentAttempts());
+        assertFalse(book.getNextEnrichmentAt().isAfter(LocalDateTime.now().plusDays(1)));
+        assertTrue(book.getNextEnrichmentAt().isAfter(before.plusHours(17)));
+    }
+
+    @Test
+    void enrichPendingBooks_WhenGoogleBooksRejectsLookup_ShouldMarkEnrichedWithoutData() {
+        // Given
+        Book book = book(1L, "not-an-isbn");
+        book.setEnrichmentAttempts(1);
+        givenCandidates(new EnrichmentCandidateDTO(1L, "not-an-isbn"));
+        when(googleBooksApiService.searchBooksByIsbn("not-an-isbn", LookupPriority.BACKGROUND))
+                .thenReturn(Mono.error(WebClientResponseException.create(400, "Bad Request", null, null, null)));
+        when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(book));
+
+        // When
+        worker.enrichPendingBooks();
+
+        // Then
+        assertNotNull(book.getEnrichedAt());
+        assertNull(book.getInfoLink());
+        assertNull(book.getEnrichmentAttempts());
+        assertNull(book.getNextEnrichmentAt());
+    }
+
+    @Test
+    void enrichPendingBooks_WhenLookupIsThrottled_ShouldNotRecordFailure() {
+        // Given
+        givenCandidates(new EnrichmentCandidateDTO(1L, "1111111111"));
+        when(googleBooksApiService.searchBooksByIsbn("1111111111", LookupPriority.BACKGROUND))
+                .thenReturn(Mono.error(new GoogleBooksRateLimitException("Daily quota exhausted")));
+
+        // When
+        worker.enrichPendingBooks();
+
+        // Then
+        verify(bookRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void enrichPendingBooks_WhenIsbnChangedDuringLookup_ShouldSkipBook() {
+        // Given
+        Book book = book(1L, "9999999999");
+        givenCandidates(new EnrichmentCandidateDTO(1L, "1111111111"));
+        when(googleBooksApiService.searchBooksByIsbn("1111111111", LookupPriority.BACKGROUND))
+                .thenReturn(Mono.just(response("http://old.isbn.link")));
+        when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(book));
+
+        // When
+        worker.enrichPendingBooks();
+
+        // Then
+        assertNull(book.getEnrichedAt());
+        assertNull(book.getInfoLink());
+        assertFalse(book.isEnrichmentOnly());
+    }
+
+    @Test
+    void enrichPendingBooks_WhenBackgroundQuotaIsUsedUp_ShouldNotLookUpAnything() {
+        // Given
+        when(rateLimiter.hasQuota(LookupPriority.BACKGROUND)).thenReturn(false);
+
+        // When
+        worker.enrichPendingBooks();
+
+        // Then
+        verifyNoInteractions(bookRepository, googleBooksApiService);
+    }
+
+    private void givenCandidates(EnrichmentCandidateDTO... candidates) {
+        when(bookRepository.findEnrichmentCandidates(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(candidates));
+    }
+
+    private static Book book(Long id, String isbn) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("Book " + id);
+        book.setAuthor("Author");
+        book.setIsbn(isbn);
+        return book;
+    }
+
+    private static GoogleBookResponse response(String infoLink) {
+        GoogleBookResponse.VolumeInfo volumeInfo = new GoogleBookResponse.VolumeInfo();
+        volumeInfo.setInfoLink(infoLink);
+        GoogleBookResponse.Item item = new GoogleBookResponse.Item();
+        item.setVolumeInfo(volumeInfo);
+        GoogleBookResponse response = new GoogleBookResponse();
+        response.setItems(List.of(item));
+        return response;
+    }
+}
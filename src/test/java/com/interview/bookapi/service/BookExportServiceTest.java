@@ -0,0 +1,126 @@
+package com.interview.bookapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.bookapi.dto.BatchItemResultDTO;
+import com.interview.bookapi.dto.BatchResultDTO;
+import com.interview.bookapi.dto.BookDTO;
+import com.interview.bookapi.dto.BookFileFormat;
+import com.interview.bookapi.dto.ImportJobDTO;
+import com.interview.bookapi.entity.Book;
+import com.interview.bookapi.repository.BookRepository;
+import com.interview.bookapi.util.BookMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookExportServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private BookService bookService;
+
+    private ObjectMapper objectMapper;
+    private List<Book> catalog;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        catalog = List.of(
+                book(1L, "The \"Best\", Vol. 1", "Line one\r\nLine two, with a comma", 4.5),
+                book(2L, "Plain Title", null, null));
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookFileFormat.class)
+    void exportBooks_ShouldProduceFileTheImportAccepts(BookFileFormat format) throws Exception {
+        // Given
+        when(bookRepository.streamAllBy()).thenReturn(catalog.stream());
+        List<BookDTO> imported = new CopyOnWriteArrayList<>();
+        when(bookService.createBooks(anyList())).thenAnswer(invocation -> {
+            List<BookDTO> books = invocation.getArgument(0);
+            // The import reuses its chunk list, so copy the items out
+            imported.addAll(books);
+            BatchResultDTO result = new BatchResultDTO();
+            for (int i = 0; i < books.size(); i++) {
+                result.addResult(i, i + 1L, BatchItemResultDTO.Status.CREATED, null);
+            }
+            return result;
+        });
+        BookExportServiceImpl exportService = new BookExportServiceImpl(bookRepository, entityManager, objectMapper, 1);
+        BookImportServiceImpl importService = new BookImportServiceImpl(bookService, objectMapper, 10, 1, 10, Duration.ofHours(1),
+                DataSize.ofMegabytes(1));
+
+        // When
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        long count = exportService.exportBooks(format, exported);
+        ImportJobDTO job;
+        try {
+            String jobId = importService.startImport(new ByteArrayInputStream(exported.toByteArray()),
+                    format.getMediaType().toString()).getId();
+            job = awaitFinished(importService, jobId);
+        } finally {
+            importService.shutdown();
+        }
+
+        // Then
+        assertEquals(2, count);
+        assertEquals(ImportJobDTO.Status.COMPLETED, job.getStatus());
+        assertEquals(2, job.getRowsImported());
+        assertEquals(0, job.getRowsFailed());
+        // Compare what an import stores: everything but id, timestamps and version
+        assertEquals(catalog.stream().map(BookMapper::toBookDTO).map(BookMapper::toNewBook).toList(),
+                imported.stream().map(BookMapper::toNewBook).toList());
+    }
+
+    private static ImportJobDTO awaitFinished(BookImportServiceImpl importService, String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        ImportJobDTO job = importService.getImportJob(jobId);
+        while (job.getStatus() == ImportJobDTO.Status.PENDING || job.getStatus() == ImportJobDTO.Status.RUNNING) {
+            if (System.nanoTime() > deadline) {
+                fail("Import job " + jobId + " did not finish");
+            }
+            Thread.sleep(10);
+            job = importService.getImportJob(jobId);
+        }
+        return job;
+    }
+
+    private static Book book(Long id, String title, String description, Double rating) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor("Author " + id);
+        book.setDescription(description);
+        book.setIsbn("978000000000" + id);
+        book.setPageCount(100 + id.intValue());
+        book.setRating(rating);
+        book.setPublishedDate("2020-01-0" + id);
+        book.setLanguage("en");
+        book.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        book.setVersion(0L);
+        return book;
+    }
+}
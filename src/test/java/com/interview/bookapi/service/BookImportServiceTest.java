@@ -0,0 +1,162 @@
+package com.interview.bookapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.bookapi.dto.BatchItemResultDTO;
+import com.interview.bookapi.dto.BatchResultDTO;
+import com.interview.bookapi.dto.BookDTO;
+import com.interview.bookapi.dto.ImportJobDTO;
+import com.interview.bookapi.dto.ImportRowErrorDTO;
+import com.interview.bookapi.exception.InvalidRequestException;
+import com.interview.bookapi.exception.PayloadTooLargeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookImportServiceTest {
+
+    @Mock
+    private BookService bookService;
+
+    private BookImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new BookImportServiceImpl(bookService, new ObjectMapper().findAndRegisterModules(),
+                2, 1, 10, Duration.ofHours(1), DataSize.ofKilobytes(16));
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    void startImport_Csv_ShouldImportGoodRowsAndReportBadOnesByLine() throws Exception {
+        // Given
+        givenDuplicateTitlesFail();
+        String csv = "title,author,page_count,shelf\n"
+                + "\"Good, One\",Author A,100,x\n"
+                + "Bad Pages,Author B,lots,y\n"
+                + "\"Two\nLines\",Author C,,z\n"
+                + "Duplicate,Author D,1,w\n";
+
+        // When
+        ImportJobDTO job = awaitFinished(importService.startImport(content(csv), "text/csv").getId());
+
+        // Then
+        assertEquals(ImportJobDTO.Status.COMPLETED, job.getStatus());
+        assertEquals(2, job.getRowsImported());
+        assertEquals(2, job.getRowsFailed());
+        assertEquals(List.of(
+                new ImportRowErrorDTO(3, "pagecount: not a whole number: lots"),
+                new ImportRowErrorDTO(6, "Duplicate ISBN")), job.getErrors());
+        // Chunk size 2: the two good rows are written together, the duplicate on the final flush
+        verify(bookService, times(2)).createBooks(anyList());
+    }
+
+    @Test
+    void startImport_Ndjson_ShouldImportGoodLinesAndReportBadOnesByLine() throws Exception {
+        // Given
+        givenDuplicateTitlesFail();
+        String ndjson = "{\"title\":\"Good\",\"author\":\"A\"}\n"
+                + "{not json\n"
+                + "\n"
+                + "{\"title\":\"Duplicate\",\"author\":\"D\"}\n";
+
+        // When
+        ImportJobDTO job = awaitFinished(importService.startImport(content(ndjson), "application/x-ndjson").getId());
+
+        // Then
+        assertEquals(ImportJobDTO.Status.COMPLETED, job.getStatus());
+        assertEquals(1, job.getRowsImported());
+        assertEquals(2, job.getRowsFailed());
+        assertEquals(2, job.getErrors().get(0).getRow());
+        assertTrue(job.getErrors().get(0).getMessage().startsWith("Malformed JSON"));
+        assertEquals(new ImportRowErrorDTO(4, "Duplicate ISBN"), job.getErrors().get(1));
+    }
+
+    @Test
+    void startImport_WithUnreadableCsv_ShouldFailJob() throws Exception {
+        // When
+        ImportJobDTO job = awaitFinished(importService.startImport(content("title\n\"never closed\n"), "text/csv").getId());
+
+        // Then
+        assertEquals(ImportJobDTO.Status.FAILED, job.getStatus());
+        assertTrue(job.getMessage().contains("Unterminated"));
+        verify(bookService, never()).createBooks(anyList());
+    }
+
+    @Test
+    void startImport_WithUnsupportedContentType_ShouldThrow() {
+        assertThrows(InvalidRequestException.class, () -> importService.startImport(content("x"), "text/plain"));
+    }
+
+    @Test
+    void startImport_WhenUploadExceedsMaxSize_ShouldRejectAndRemoveSpooledFile() throws Exception {
+        // Given
+        String ndjson = "{\"title\":\"Book\",\"author\":\"Author\"}\n".repeat(1000);
+        List<Path> spooledBefore = spooledFiles();
+
+        // When & Then
+        assertThrows(PayloadTooLargeException.class, () -> importService.startImport(content(ndjson), "application/x-ndjson"));
+        assertEquals(spooledBefore, spooledFiles());
+        verifyNoInteractions(bookService);
+    }
+
+    private static List<Path> spooledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("book-import-")).sorted().toList();
+        }
+    }
+
+    private void givenDuplicateTitlesFail() {
+        when(bookService.createBooks(anyList())).thenAnswer(invocation -> {
+            List<BookDTO> books = invocation.getArgument(0);
+            BatchResultDTO result = new BatchResultDTO();
+            for (int i = 0; i < books.size(); i++) {
+                if ("Duplicate".equals(books.get(i).getTitle())) {
+                    result.addResult(i, null, BatchItemResultDTO.Status.FAILED, "Duplicate ISBN");
+                } else {
+                    result.addResult(i, i + 1L, BatchItemResultDTO.Status.CREATED, null);
+                }
+            }
+            return result;
+        });
+    }
+
+    private ImportJobDTO awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        ImportJobDTO job = importService.getImportJob(jobId);
+        while (job.getStatus() == ImportJobDTO.Status.PENDING || job.getStatus() == ImportJobDTO.Status.RUNNING) {
+            if (System.nanoTime() > deadline) {
+                fail("Import job " + jobId + " did not finish");
+            }
+            Thread.sleep(10);
+            job = importService.getImportJob(jobId);
+        }
+        return job;
+    }
+
+    private static ByteArrayInputStream content(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,26 +1,45 @@
 package com.interview.bookapi.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.bookapi.dto.BatchItemResultDTO;
+import com.interview.bookapi.dto.BatchResultDTO;
 import com.interview.bookapi.dto.BookDTO;
 import com.interview.bookapi.dto.BookDetailDTO;
+import com.interview.bookapi.dto.CursorPageDTO;
 import com.interview.bookapi.dto.GoogleBookResponse;
 import com.interview.bookapi.entity.Book;
 import com.interview.bookapi.exception.BookNotFoundException;
+import com.interview.bookapi.exception.InvalidRequestException;
+import com.interview.bookapi.exception.PreconditionFailedException;
 import com.interview.bookapi.repository.BookRepository;
+import com.interview.bookapi.search.BookSearchIndex;
+import com.interview.bookapi.search.BookSuggestIndex;
+import com.interview.bookapi.util.BookMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,16 +56,34 @@ public class BookServiceTest {
     @Mock
     private GoogleBooksApiService googleBooksApiService;
 
-    @InjectMocks
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookSuggestIndex bookSuggestIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private BookServiceImpl bookService;
 
     private Book testBook;
     private BookDTO testBookDTO;
     private List<Book> bookList;
     private GoogleBookResponse googleBookResponse;
+    private ObjectMapper objectMapper;
 
     @BeforeEach
     void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        bookService = new BookServiceImpl(bookRepository, googleBooksApiService, bookSearchIndex, bookSuggestIndex,
+                eventPublisher, new TransactionTemplate(transactionManager), validator, objectMapper, 2, 10,
+                4, Duration.ofSeconds(1), Duration.ofSeconds(2), 1);
+
         // Setup test book
         testBook = new Book();
         testBook.setId(1L);
@@ -115,7 +152,6 @@ public class BookServiceTest {
         // Given
         Long bookId = 1L;
         when(bookRepository.findById(bookId)).thenReturn(Optional.of(testBook));
-        when(bookRepository.save(any(Book.class))).thenReturn(testBook);
 
         BookDTO updatedBookDTO = new BookDTO();
         updatedBookDTO.setTitle("Updated Title");
@@ -127,8 +163,100 @@ public class BookServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(bookId, result.getId());
+        assertEquals("Updated Title", result.getTitle());
         verify(bookRepository, times(1)).findById(bookId);
-        verify(bookRepository, times(1)).save(any(Book.class));
+        verify(bookRepository, times(1)).flush();
+        verify(bookRepository, never()).save(any(Book.class));
+    }
+
+    @Test
+    void patchBook_ShouldChangeOnlySuppliedFields() throws Exception {
+        // Given
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        JsonNode patch = objectMapper.readTree("{\"rating\": 4.5, \"description\": null}");
+
+        // When
+        BookDTO result = bookService.patchBook(1L, patch, null);
+
+        // Then
+        assertEquals(4.5, result.getRating());
+        assertNull(result.getDescription());
+        assertEquals("Test Book", result.getTitle());
+        assertEquals("Test Category", testBook.getCategory());
+        verify(bookRepository, times(1)).flush();
+    }
+
+    @Test
+    void patchBook_WhenNothingChanges_ShouldNotWrite() throws Exception {
+        // Given
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        JsonNode patch = objectMapper.readTree("{\"title\": \"Test Book\"}");
+
+        // When
+        bookService.patchBook(1L, patch, null);
+
+        // Then
+        verify(bookRepository, never()).flush();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void patchBook_WithManagedOrInvalidField_ShouldThrowIllegalArgument() throws Exception {
+        // Given
+        JsonNode idPatch = objectMapper.readTree("{\"id\": 7}");
+        JsonNode blankTitle = objectMapper.readTree("{\"title\": \"\"}");
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+        // When & Then
+        assertThrows(InvalidRequestException.class, () -> bookService.patchBook(1L, idPatch, null));
+        assertThrows(InvalidRequestException.class, () -> bookService.patchBook(1L, blankTitle, null));
+        assertEquals("Test Book", testBook.getTitle());
+    }
+
+    @Test
+    void updateBook_WhenIfMatchVersionIsStale_ShouldThrowPreconditionFailed() {
+        // Given
+        testBook.setVersion(3L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class, () -> bookService.updateBook(1L, testBookDTO, 2L));
+        assertEquals("Test Book", testBook.getTitle());
+        verify(bookRepository, never()).flush();
+    }
+
+    @Test
+    void updateBook_WhenConcurrentWriteFailsFlushUnderIfMatch_ShouldThrowPreconditionFailed() {
+        // Given
+        testBook.setVersion(3L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        doThrow(new OptimisticLockingFailureException("Row was updated")).when(bookRepository).flush();
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class, () -> bookService.updateBook(1L, testBookDTO, 3L));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void updateBook_WhenConcurrentWriteFailsFlushWithoutIfMatch_ShouldThrowOptimisticLockingFailure() {
+        // Given
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        doThrow(new OptimisticLockingFailureException("Row was updated")).when(bookRepository).flush();
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> bookService.updateBook(1L, testBookDTO));
+    }
+
+    @Test
+    void updateBook_WhenBodyVersionIsStale_ShouldThrowOptimisticLockingFailure() {
+        // Given
+        testBook.setVersion(3L);
+        testBookDTO.setVersion(2L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> bookService.updateBook(1L, testBookDTO));
+        verify(bookRepository, never()).flush();
     }
 
     @Test
@@ -142,7 +270,7 @@ public class BookServiceTest {
             bookService.updateBook(bookId, testBookDTO);
         });
         verify(bookRepository, times(1)).findById(bookId);
-        verify(bookRepository, never()).save(any(Book.class));
+        verify(bookRepository, never()).flush();
     }
 
     @Test
@@ -174,6 +302,61 @@ public class BookServiceTest {
         verify(bookRepository, never()).deleteById(any());
     }
 
+    @Test
+    void createBooks_ShouldSaveValidBooksInChunksAndReportInvalidOnes() {
+        // Given
+        BookDTO invalidBookDTO = new BookDTO();
+        invalidBookDTO.setAuthor("No Title");
+        List<BookDTO> bookDTOs = Arrays.asList(testBookDTO, invalidBookDTO, testBookDTO, testBookDTO);
+        when(bookRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            long id = 100;
+            for (Book book : books) {
+                book.setId(id++);
+            }
+            return books;
+        });
+
+        // When
+        BatchResultDTO result = bookService.createBooks(bookDTOs);
+
+        // Then
+        assertEquals(4, result.getTotal());
+        assertEquals(3, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertEquals(BatchItemResultDTO.Status.INVALID, result.getResults().get(1).getStatus());
+        assertTrue(result.getResults().get(1).getMessage().contains("title"));
+        assertEquals(BatchItemResultDTO.Status.CREATED, result.getResults().get(3).getStatus());
+        // Chunk size 2: the three valid books are written in two chunks
+        verify(bookRepository, times(2)).saveAll(anyList());
+        verify(bookRepository, times(2)).flush();
+    }
+
+    @Test
+    void deleteBooks_ShouldReportMissingBooksAsNotFound() {
+        // Given
+        when(bookRepository.findExistingIds(anyList())).thenReturn(List.of(1L));
+
+        // When
+        BatchResultDTO result = bookService.deleteBooks(Arrays.asList(1L, 999L));
+
+        // Then
+        assertEquals(1, result.getSucceeded());
+        assertEquals(BatchItemResultDTO.Status.DELETED, result.getResults().get(0).getStatus());
+        assertEquals(BatchItemResultDTO.Status.NOT_FOUND, result.getResults().get(1).getStatus());
+        verify(bookRepository, times(1)).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    void createBooks_WhenBatchTooLarge_ShouldThrowException() {
+        // Given
+        List<BookDTO> bookDTOs = Collections.nCopies(11, testBookDTO);
+
+        // When & Then
+        assertThrows(InvalidRequestException.class, () -> bookService.createBooks(bookDTOs));
+        verify(bookRepository, never()).saveAll(anyList());
+    }
+
     @Test
     void getBookById_WhenBookExists_ShouldReturnBookDTO() {
         // Given
@@ -208,8 +391,8 @@ public class BookServiceTest {
         // Given
         int page = 0;
         int size = 10;
-        Page<Book> bookPage = new PageImpl<>(bookList);
-        when(bookRepository.findAll(any(PageRequest.class))).thenReturn(bookPage);
+        Page<BookDTO> bookPage = new PageImpl<>(bookList.stream().map(BookMapper::toBookDTO).toList());
+        when(bookRepository.findCachedBookDTOs(any(PageRequest.class))).thenReturn(bookPage);
 
         // When
         Page<BookDTO> result = bookService.getAllBooks(page, size);
@@ -217,19 +400,59 @@ public class BookServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(bookList.size(), result.getTotalElements());
-        verify(bookRepository, times(1)).findAll(any(PageRequest.class));
+        verify(bookRepository, times(1)).findCachedBookDTOs(any(PageRequest.class));
+        verify(bookRepository, never()).findAllBookDTOs(any());
     }
 
     @Test
-    void searchBooks_ByTitle_ShouldReturnMatchingBooks() {
+    void getAllBooks_BeyondCachedPages_ShouldQueryWithoutQueryCache() {
+        // Given
+        Page<BookDTO> bookPage = new PageImpl<>(bookList.stream().map(BookMapper::toBookDTO).toList());
+        when(bookRepository.findAllBookDTOs(any(PageRequest.class))).thenReturn(bookPage);
+
+        // When
+        Page<BookDTO> result = bookService.getAllBooks(1, 10);
+
+        // Then
+        assertEquals(2, result.getContent().size());
+        verify(bookRepository, never()).findCachedBookDTOs(any(PageRequest.class));
+    }
+
+    @Test
+    void getAllBooks_WithCursor_ShouldSeekPastPreviousSlice() {
+        // Given
+        when(bookRepository.findNextByCreatedAt(any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(bookList.stream().map(BookMapper::toBookDTO).toList(), PageRequest.of(0, 2), true));
+
+        // When
+        CursorPageDTO<BookDTO> firstSlice = bookService.getAllBooks("", 2);
+        bookService.getAllBooks(firstSlice.getNextCursor(), 2);
+
+        // Then
+        assertEquals(2, firstSlice.getContent().size());
+        assertTrue(firstSlice.isHasNext());
+        assertNotNull(firstSlice.getNextCursor());
+        Book last = bookList.get(1);
+        verify(bookRepository, times(1)).findNextByCreatedAt(eq(last.getCreatedAt()), eq(last.getId()), any(Pageable.class));
+    }
+
+    @Test
+    void getAllBooks_WithMalformedCursor_ShouldThrowException() {
+        // When & Then
+        assertThrows(InvalidRequestException.class, () -> bookService.getAllBooks("not-a-cursor", 10));
+        verify(bookRepository, never()).findNextByCreatedAt(any(), any(), any());
+    }
+
+    @Test
+    void searchBooks_ByTitle_ShouldReturnMatchingBooks() throws IOException {
         // Given
         String query = "test";
         String searchBy = "title";
         int page = 0;
         int size = 10;
-        Page<Book> bookPage = new PageImpl<>(Arrays.asList(testBook));
-        when(bookRepository.findByTitleContainingIgnoreCase(eq(query), any(Pageable.class)))
-                .thenReturn(bookPage);
+        when(bookSearchIndex.search(eq(query), eq("title"), eq(0), eq(size)))
+                .thenReturn(new BookSearchIndex.Hits(1, List.of(1L)));
+        when(bookRepository.findCachedBookDTOsByIdIn(List.of(1L))).thenReturn(List.of(testBookDTO));
 
         // When
         Page<BookDTO> result = bookService.searchBooks(query, searchBy, page, size);
@@ -237,20 +460,20 @@ public class BookServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(bookRepository, times(1))
-                .findByTitleContainingIgnoreCase(eq(query), any(Pageable.class));
+        assertEquals(testBook.getId(), result.getContent().get(0).getId());
+        verify(bookSearchIndex, times(1)).search(eq(query), eq("title"), eq(0), eq(size));
     }
 
     @Test
-    void searchBooks_ByAuthor_ShouldReturnMatchingBooks() {
+    void searchBooks_ByAuthor_ShouldReturnMatchingBooks() throws IOException {
         // Given
         String query = "test";
         String searchBy = "author";
         int page = 0;
         int size = 10;
-        Page<Book> bookPage = new PageImpl<>(Arrays.asList(testBook));
-        when(bookRepository.findByAuthorContainingIgnoreCase(eq(query), any(Pageable.class)))
-                .thenReturn(bookPage);
+        when(bookSearchIndex.search(eq(query), eq("author"), eq(0), eq(size)))
+                .thenReturn(new BookSearchIndex.Hits(1, List.of(1L)));
+        when(bookRepository.findCachedBookDTOsByIdIn(List.of(1L))).thenReturn(List.of(testBookDTO));
 
         // When
         Page<BookDTO> result = bookService.searchBooks(query, searchBy, page, size);
@@ -258,20 +481,20 @@ public class BookServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(bookRepository, times(1))
-                .findByAuthorContainingIgnoreCase(eq(query), any(Pageable.class));
+        assertEquals(testBook.getId(), result.getContent().get(0).getId());
+        verify(bookSearchIndex, times(1)).search(eq(query), eq("author"), eq(0), eq(size));
     }
 
     @Test
-    void searchBooks_ByCategory_ShouldReturnMatchingBooks() {
+    void searchBooks_ByCategory_ShouldReturnMatchingBooks() throws IOException {
         // Given
         String query = "test";
         String searchBy = "category";
         int page = 0;
         int size = 10;
-        Page<Book> bookPage = new PageImpl<>(Arrays.asList(testBook));
-        when(bookRepository.findByCategoryContainingIgnoreCase(eq(query), any(Pageable.class)))
-                .thenReturn(bookPage);
+        when(bookSearchIndex.search(eq(query), eq("category"), eq(0), eq(size)))
+                .thenReturn(new BookSearchIndex.Hits(1, List.of(1L)));
+        when(bookRepository.findCachedBookDTOsByIdIn(List.of(1L))).thenReturn(List.of(testBookDTO));
 
         // When
         Page<BookDTO> result = bookService.searchBooks(query, searchBy, page, size);
@@ -279,20 +502,20 @@ public class BookServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(bookRepository, times(1))
-                .findByCategoryContainingIgnoreCase(eq(query), any(Pageable.class));
+        assertEquals(testBook.getId(), result.getContent().get(0).getId());
+        verify(bookSearchIndex, times(1)).search(eq(query), eq("category"), eq(0), eq(size));
     }
 
     @Test
-    void searchBooks_WithInvalidSearchBy_ShouldDefaultToTitle() {
+    void searchBooks_WithInvalidSearchBy_ShouldDefaultToTitle() throws IOException {
         // Given
         String query = "test";
         String searchBy = "invalid";
         int page = 0;
         int size = 10;
-        Page<Book> bookPage = new PageImpl<>(Arrays.asList(testBook));
-        when(bookRepository.findByTitleContainingIgnoreCase(eq(query), any(Pageable.class)))
-                .thenReturn(bookPage);
+        when(bookSearchIndex.search(eq(query), eq("title"), eq(0), eq(size)))
+                .thenReturn(new BookSearchIndex.Hits(1, List.of(1L)));
+        when(bookRepository.findCachedBookDTOsByIdIn(List.of(1L))).thenReturn(List.of(testBookDTO));
 
         // When
         Page<BookDTO> result = bookService.searchBooks(query, searchBy, page, size);
@@ -300,8 +523,8 @@ public class BookServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(bookRepository, times(1))
-                .findByTitleContainingIgnoreCase(eq(query), any(Pageable.class));
+        assertEquals(testBook.getId(), result.getContent().get(0).getId());
+        verify(bookSearchIndex, times(1)).search(eq(query), eq("title"), eq(0), eq(size));
     }
 
     @Test
@@ -346,6 +569,58 @@ public class BookServiceTest {
         verify(googleBooksApiService, times(1)).searchBooksByIsbn(testBook.getIsbn());
     }
 
+    @Test
+    void getBookDetailsWithGoogleBooksInfo_WhenGoogleBooksFails_ShouldReturnDegradedDetails() {
+        // Given
+        Long bookId = 1L;
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(testBook));
+        when(googleBooksApiService.searchBooksByIsbn(testBook.getIsbn()))
+                .thenReturn(Mono.error(new IllegalStateException("circuit open")));
+
+        // When
+        BookDetailDTO result = bookService.getBookDetailsWithGoogleBooksInfo(bookId);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(testBook.getTitle(), result.getTitle());
+        assertTrue(result.isDegraded());
+        assertNull(result.getInfoLink());
+    }
+
+    @Test
+    void getBookDetailsWithGoogleBooksInfoAsync_ShouldReturnEnhancedBookDetails() {
+        // Given
+        Long bookId = 1L;
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(testBook));
+        when(googleBooksApiService.searchBooksByIsbn(testBook.getIsbn())).thenReturn(Mono.just(googleBookResponse));
+
+        // When
+        Mono<BookDetailDTO> detailsMono = bookService.getBookDetailsWithGoogleBooksInfoAsync(bookId);
+
+        // Then
+        verify(bookRepository, never()).findById(any());
+        BookDetailDTO result = detailsMono.block();
+        assertNotNull(result);
+        assertEquals(bookId, result.getId());
+        assertEquals("http://test.info.link", result.getInfoLink());
+        assertEquals("Test snippet", result.getTextSnippet());
+        verify(bookRepository, times(1)).findById(bookId);
+        verify(googleBooksApiService, times(1)).searchBooksByIsbn(testBook.getIsbn());
+    }
+
+    @Test
+    void getBookDetailsWithGoogleBooksInfoAsync_WhenBookDoesNotExist_ShouldEmitError() {
+        // Given
+        Long bookId = 999L;
+        when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(BookNotFoundException.class, () -> {
+            bookService.getBookDetailsWithGoogleBooksInfoAsync(bookId).block();
+        });
+        verify(googleBooksApiService, never()).searchBooksByIsbn(anyString());
+    }
+
     @Test
     void getBookDetailsWithGoogleBooksInfo_WithNoIsbn_ShouldSkipGoogleApiCall() {
         // Given
@@ -363,4 +638,62 @@ public class BookServiceTest {
         verify(bookRepository, times(1)).findById(bookId);
         verify(googleBooksApiService, never()).searchBooksByIsbn(anyString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookDetailsWithGoogleBooksInfo_WhenAlreadyEnriched_ShouldServeStoredData() {
+        // Given
+        Long bookId = 1L;
+        testBook.setInfoLink("http://stored.info.link");
+        testBook.setEnrichedAt(LocalDateTime.now());
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(testBook));
+
+        // When
+        BookDetailDTO result = bookService.getBookDetailsWithGoogleBooksInfo(bookId);
+
+        // Then
+        assertEquals("http://stored.info.link", result.getInfoLink());
+        verify(googleBooksApiService, never()).searchBooksByIsbn(anyString());
+    }
+
+    @Test
+    void getBookDetailsWithGoogleBooksInfo_ForPage_ShouldReturnSlowLookupsUnenriched() {
+        // Given
+        List<BookDTO> page = bookList.stream().map(BookMapper::toBookDTO).toList();
+        when(bookRepository.findAllById(List.of(1L, 2L))).thenReturn(bookList);
+        when(googleBooksApiService.searchBooksByIsbn(testBook.getIsbn(), LookupPriority.BACKGROUND))
+                .thenReturn(Mono.just(googleBookResponse));
+        when(googleBooksApiService.searchBooksByIsbn("0987654321", LookupPriority.BACKGROUND)).thenReturn(Mono.never());
+
+        // When
+        List<BookDetailDTO> result = bookService.getBookDetailsWithGoogleBooksInfo(page);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("http://test.info.link", result.get(0).getInfoLink());
+        assertEquals(2L, result.get(1).getId());
+        assertNull(result.get(1).getInfoLink());
+        assertFalse(result.get(0).isDegraded());
+        assertTrue(result.get(1).isDegraded());
+    }
+
+    @Test
+    void getBookDetailsWithGoogleBooksInfo_ForPage_WhenPageDeadlinePasses_ShouldMarkPendingLookupsDegraded() {
+        // Given: the per-lookup timeout is longer than the page deadline, so only the deadline ends the lookup
+        BookServiceImpl service = new BookServiceImpl(bookRepository, googleBooksApiService, bookSearchIndex, bookSuggestIndex,
+                eventPublisher, new TransactionTemplate(transactionManager), Validation.buildDefaultValidatorFactory().getValidator(),
+                objectMapper, 2, 10, 4, Duration.ofSeconds(30), Duration.ofMillis(200), 1);
+        List<BookDTO> page = bookList.stream().map(BookMapper::toBookDTO).toList();
+        when(bookRepository.findAllById(List.of(1L, 2L))).thenReturn(bookList);
+        when(googleBooksApiService.searchBooksByIsbn(testBook.getIsbn(), LookupPriority.BACKGROUND))
+                .thenReturn(Mono.just(googleBookResponse));
+        when(googleBooksApiService.searchBooksByIsbn("0987654321", LookupPriority.BACKGROUND)).thenReturn(Mono.never());
+
+        // When
+        List<BookDetailDTO> result = service.getBookDetailsWithGoogleBooksInfo(page);
+
+        // Then
+        assertFalse(result.get(0).isDegraded());
+        assertNull(result.get(1).getInfoLink());
+        assertTrue(result.get(1).isDegraded());
+    }
+}
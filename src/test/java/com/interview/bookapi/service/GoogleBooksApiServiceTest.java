@@ -0,0 +1,199 @@
+package com.interview.bookapi.service;
+
+import com.interview.bookapi.config.GoogleBooksClientConfig;
+import com.interview.bookapi.config.GoogleBooksClientProperties;
+import com.interview.bookapi.dto.GoogleBookResponse;
+import com.interview.bookapi.exception.GoogleBooksRateLimitException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GoogleBooksApiServiceTest {
+
+    private static final String VOLUMES_JSON = "{\"totalItems\":1,\"items\":[{\"id\":\"abc\"}]}";
+
+    private MockWebServer server;
+    private GoogleBooksClientProperties properties;
+    private ConnectionProvider connectionProvider;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+
+        properties = new GoogleBooksClientProperties();
+        properties.setResponseTimeout(Duration.ofSeconds(1));
+        properties.setTotalTimeout(Duration.ofSeconds(5));
+        properties.getRetry().setMinBackoff(Duration.ofMillis(10));
+        properties.getRetry().setMaxBackoff(Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+        server.shutdown();
+    }
+
+    @Test
+    void searchBooksByIsbn_ShouldSendQueryAndApiKey() throws InterruptedException {
+        server.enqueue(jsonResponse(200, VOLUMES_JSON));
+
+        GoogleBookResponse response = createService().searchBooksByIsbn("9780743273565").block();
+
+        assertNotNull(response);
+        assertEquals(1, response.getTotalItems());
+        RecordedRequest request = server.takeRequest();
+        assertEquals("isbn:9780743273565", request.getRequestUrl().queryParameter("q"));
+        assertEquals("test-key", request.getRequestUrl().queryParameter("key"));
+    }
+
+    @Test
+    void searchBooksByIsbn_WhenServerErrorIsTransient_ShouldRetry() {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(429));
+        server.enqueue(jsonResponse(200, VOLUMES_JSON));
+
+        GoogleBookResponse response = createService().searchBooksByIsbn("9780743273565").block();
+
+        assertNotNull(response);
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void searchBooksByIsbn_WhenRetriesAreExhausted_ShouldEmitOriginalError() {
+        properties.getRetry().setMaxRetries(1);
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setResponseCode(500));
+
+        GoogleBooksApiService service = createService();
+
+        assertThrows(WebClientResponseException.InternalServerError.class,
+                () -> service.searchBooksByIsbn("9780743273565").block());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void searchBooksByIsbn_WhenClientError_ShouldNotRetry() {
+        server.enqueue(new MockResponse().setResponseCode(400));
+
+        GoogleBooksApiService service = createService();
+
+        assertThrows(WebClientResponseException.BadRequest.class,
+                () -> service.searchBooksByIsbn("9780743273565").block());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void searchBooksByIsbn_WhenCircuitIsOpen_ShouldFailFastWithoutCallingServer() {
+        properties.getRetry().setMaxRetries(0);
+        properties.getCircuitBreaker().setSlidingWindowSize(2);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(2);
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setResponseCode(500));
+
+        GoogleBooksApiService service = createService();
+        assertThrows(WebClientResponseException.class, () -> service.searchBooksByIsbn("1111111111").block());
+        assertThrows(WebClientResponseException.class, () -> service.searchBooksByIsbn("2222222222").block());
+
+        assertThrows(CallNotPermittedException.class, () -> service.searchBooksByIsbn("3333333333").block());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void searchBooksByIsbn_WhenDailyQuotaIsUsedUp_ShouldFailWithoutCallingServer() {
+        properties.getRateLimit().setDailyQuota(1);
+        server.enqueue(jsonResponse(200, VOLUMES_JSON));
+
+        GoogleBooksApiService service = createService();
+        assertNotNull(service.searchBooksByIsbn("1111111111").block());
+
+        assertThrows(GoogleBooksRateLimitException.class, () -> service.searchBooksByIsbn("2222222222").block());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void searchBooksByIsbn_WhenBackgroundLookupsAreStarved_ShouldNotOpenCircuit() {
+        properties.getCircuitBreaker().setSlidingWindowSize(2);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(2);
+        // One permit, then practically none: every later background lookup gives up waiting
+        properties.getRateLimit().setPermitsPerSecond(0.001);
+        properties.getRateLimit().setBurst(1);
+        properties.getRateLimit().setInteractiveReserve(0);
+        properties.getRateLimit().setBackgroundMaxWait(Duration.ofMillis(100));
+        server.enqueue(jsonResponse(200, VOLUMES_JSON));
+
+        GoogleBooksApiService service = createService();
+        assertNotNull(service.searchBooksByIsbn("1111111111", LookupPriority.BACKGROUND).block());
+        for (String isbn : new String[]{"2222222222", "3333333333", "4444444444"}) {
+            assertThrows(GoogleBooksRateLimitException.class,
+                    () -> service.searchBooksByIsbn(isbn, LookupPriority.BACKGROUND).block());
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void searchBooksByIsbn_WhenInteractiveJoinsParkedBackgroundLookup_ShouldNotWaitInBackgroundLane() {
+        // Two permits, one held back for interactive lookups; refills take 20s per permit
+        properties.getRateLimit().setPermitsPerSecond(0.05);
+        properties.getRateLimit().setBurst(2);
+        properties.getRateLimit().setInteractiveReserve(1);
+        properties.getRateLimit().setBackgroundMaxWait(Duration.ofMinutes(1));
+        server.enqueue(jsonResponse(200, VOLUMES_JSON));
+        server.enqueue(jsonResponse(200, VOLUMES_JSON));
+
+        GoogleBooksApiService service = createService();
+        assertNotNull(service.searchBooksByIsbn("1111111111").block());
+        // Only the reserved permit is left, so this one parks in the background lane
+        Disposable background = service.searchBooksByIsbn("2222222222", LookupPriority.BACKGROUND).subscribe();
+        try {
+            GoogleBookResponse response = service.searchBooksByIsbn("2222222222", LookupPriority.INTERACTIVE)
+                    .block(Duration.ofSeconds(5));
+
+            assertNotNull(response);
+            assertEquals(2, server.getRequestCount());
+        } finally {
+            background.dispose();
+        }
+    }
+
+    private GoogleBooksApiService createService() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GoogleBooksClientConfig config = new GoogleBooksClientConfig(properties);
+        connectionProvider = config.googleBooksConnectionProvider();
+        WebClient webClient = config.googleBooksWebClient(WebClient.builder(), connectionProvider, server.url("/").toString());
+        GoogleBooksCache cache = new GoogleBooksCache(100, Duration.ofHours(1), Duration.ofMinutes(1), meterRegistry);
+        GoogleBooksRateLimiter rateLimiter = new GoogleBooksRateLimiter(properties, meterRegistry);
+        circuitBreaker = config.googleBooksCircuitBreaker(meterRegistry);
+        return new GoogleBooksApiServiceImpl(webClient, config.googleBooksRetry(), circuitBreaker,
+                properties, rateLimiter, cache, meterRegistry, "test-key");
+    }
+
+    private static MockResponse jsonResponse(int status, String body) {
+        return new MockResponse()
+                .setResponseCode(status)
+                .setHeader("Content-Type", "application/json")
+                .setBody(body);
+    }
+}
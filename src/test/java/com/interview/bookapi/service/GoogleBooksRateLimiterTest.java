@@ -0,0 +1,102 @@
+package com.interview.bookapi.service;
+
+import com.interview.bookapi.config.GoogleBooksClientProperties;
+import com.interview.bookapi.exception.GoogleBooksRateLimitException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GoogleBooksRateLimiterTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private GoogleBooksClientProperties.RateLimit rateLimit;
+
+    @BeforeEach
+    void setUp() {
+        rateLimit = new GoogleBooksClientProperties.RateLimit();
+        rateLimit.setPermitsPerSecond(1);
+        rateLimit.setBurst(3);
+        rateLimit.setInteractiveReserve(2);
+        rateLimit.setMaxWait(Duration.ofMillis(500));
+        rateLimit.setDailyQuota(0);
+    }
+
+    @Test
+    void acquire_Background_ShouldLeaveReservedPermitsForInteractive() {
+        GoogleBooksRateLimiter limiter = createLimiter();
+
+        limiter.acquire(LookupPriority.BACKGROUND).block();
+
+        // Only the interactive reserve is left: background waits, interactive goes through
+        assertThrows(IllegalStateException.class,
+                () -> limiter.acquire(LookupPriority.BACKGROUND).block(Duration.ofMillis(50)));
+        limiter.acquire(LookupPriority.INTERACTIVE).block();
+        limiter.acquire(LookupPriority.INTERACTIVE).block();
+        assertEquals(0, limiter.availablePermits(), 1e-9);
+    }
+
+    @Test
+    void acquire_Interactive_WhenWaitExceedsMaxWait_ShouldReject() {
+        rateLimit.setBurst(1);
+        GoogleBooksRateLimiter limiter = createLimiter();
+
+        limiter.acquire(LookupPriority.INTERACTIVE).block();
+        assertThrows(GoogleBooksRateLimitException.class, () -> limiter.acquire(LookupPriority.INTERACTIVE).block());
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.acquire(LookupPriority.INTERACTIVE).block();
+    }
+
+    @Test
+    void acquire_Background_WhenBackoffExceedsBackgroundMaxWait_ShouldReject() {
+        rateLimit.setBackgroundMaxWait(Duration.ofMillis(500));
+        GoogleBooksRateLimiter limiter = createLimiter();
+
+        limiter.acquire(LookupPriority.BACKGROUND).block();
+
+        // The next background permit is a second away, past the 500 ms the lookup may wait
+        assertThrows(GoogleBooksRateLimitException.class, () -> limiter.acquire(LookupPriority.BACKGROUND).block());
+        assertEquals(2, limiter.availablePermits(), 1e-9);
+    }
+
+    @Test
+    void acquireForRetry_ShouldTakePermitWithoutWaiting() {
+        rateLimit.setBurst(1);
+        GoogleBooksRateLimiter limiter = createLimiter();
+
+        limiter.acquire(LookupPriority.INTERACTIVE).block();
+        limiter.acquireForRetry(LookupPriority.INTERACTIVE).block();
+
+        assertEquals(-1, limiter.availablePermits(), 1e-9);
+    }
+
+    @Test
+    void acquire_WhenBackgroundQuotaShareIsUsed_ShouldRejectOnlyBackground() {
+        rateLimit.setBurst(100);
+        rateLimit.setDailyQuota(10);
+        rateLimit.setBackgroundQuotaShare(0.2);
+        GoogleBooksRateLimiter limiter = createLimiter();
+
+        limiter.acquire(LookupPriority.BACKGROUND).block();
+        limiter.acquire(LookupPriority.BACKGROUND).block();
+
+        assertThrows(GoogleBooksRateLimitException.class, () -> limiter.acquire(LookupPriority.BACKGROUND).block());
+        assertFalse(limiter.hasQuota(LookupPriority.BACKGROUND));
+        limiter.acquire(LookupPriority.INTERACTIVE).block();
+        assertEquals(7, limiter.remainingQuota(LookupPriority.INTERACTIVE));
+    }
+
+    private GoogleBooksRateLimiter createLimiter() {
+        Clock clock = Clock.fixed(Instant.parse("2024-03-01T12:00:00Z"), ZoneOffset.UTC);
+        return new GoogleBooksRateLimiter(rateLimit, new SimpleMeterRegistry(), nanoTime::get, clock);
+    }
+}
@@ -0,0 +1,46 @@
+package com.interview.bookapi.util;
+
+import com.interview.bookapi.dto.BookDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookCsvMapperTest {
+
+    @Test
+    void toBookDTO_ShouldMapColumnsByHeaderNameAndIgnoreOthers() {
+        BookCsvMapper mapper = new BookCsvMapper(
+                List.of("Title", " AUTHOR ", "page_count", "publishedDate", "id", "createdAt", "shelf"));
+
+        BookDTO bookDTO = mapper.toBookDTO(List.of("Dune", " Frank Herbert ", "412", "1965", "99", "2024-01-01T00:00", "B3"));
+
+        assertEquals("Dune", bookDTO.getTitle());
+        assertEquals("Frank Herbert", bookDTO.getAuthor());
+        assertEquals(412, bookDTO.getPageCount());
+        assertEquals("1965", bookDTO.getPublishedDate());
+        assertNull(bookDTO.getId());
+        assertNull(bookDTO.getCreatedAt());
+    }
+
+    @Test
+    void toBookDTO_WithBlankOrMissingTrailingFields_ShouldLeaveThemNull() {
+        BookCsvMapper mapper = new BookCsvMapper(List.of("title", "author", "rating", "category"));
+
+        BookDTO bookDTO = mapper.toBookDTO(List.of("Dune", "Frank Herbert", "  "));
+
+        assertNull(bookDTO.getRating());
+        assertNull(bookDTO.getCategory());
+    }
+
+    @Test
+    void toBookDTO_WithInvalidRecord_ShouldThrowIllegalArgument() {
+        BookCsvMapper mapper = new BookCsvMapper(List.of("title", "rating"));
+
+        IllegalArgumentException badNumber = assertThrows(IllegalArgumentException.class,
+                () -> mapper.toBookDTO(List.of("Dune", "five")));
+        assertEquals("rating: not a number: five", badNumber.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> mapper.toBookDTO(List.of("Dune", "5", "extra")));
+    }
+}
@@ -0,0 +1,123 @@
+package com.interview.bookapi.util;
+
+import com.interview.bookapi.dto.BookDTO;
+import com.interview.bookapi.dto.BookDetailDTO;
+import com.interview.bookapi.entity.Book;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import java.beans.PropertyDescriptor;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BookMapper must produce exactly what BeanUtils.copyProperties did. Sources are filled
+ * reflectively, so a field added to the entity or a DTO without a mapping fails here.
+ */
+public class BookMapperTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 5, 17, 10, 30);
+
+    @Test
+    void toBookDTO_ShouldMatchBeanUtilsCopy() {
+        Book book = populate(new Book(), "source");
+
+        BookDTO expected = new BookDTO();
+        BeanUtils.copyProperties(book, expected);
+
+        assertEquals(expected, BookMapper.toBookDTO(book));
+    }
+
+    @Test
+    void toBookDTO_WithNullFields_ShouldMatchBeanUtilsCopy() {
+        Book book = new Book();
+
+        BookDTO expected = new BookDTO();
+        BeanUtils.copyProperties(book, expected);
+
+        assertEquals(expected, BookMapper.toBookDTO(book));
+    }
+
+    @Test
+    void toBookDetailDTO_ShouldMatchBeanUtilsCopy() {
+        Book book = populate(new Book(), "source");
+
+        BookDetailDTO expected = new BookDetailDTO();
+        BeanUtils.copyProperties(book, expected);
+
+        assertEquals(expected, BookMapper.toBookDetailDTO(book));
+    }
+
+    @Test
+    void toNewBook_ShouldMatchBeanUtilsCopyIgnoringIdTimestampsAndVersion() {
+        BookDTO bookDTO = populate(new BookDTO(), "source");
+
+        Book expected = new Book();
+        BeanUtils.copyProperties(bookDTO, expected, "id", "createdAt", "updatedAt", "version");
+
+        Book result = BookMapper.toNewBook(bookDTO);
+
+        assertEquals(expected, result);
+        assertNull(result.getId());
+        assertNull(result.getCreatedAt());
+        assertNull(result.getVersion());
+    }
+
+    @Test
+    void toNewBook_WithBlankIsbn_ShouldStoreNull() {
+        BookDTO bookDTO = populate(new BookDTO(), "source");
+        bookDTO.setIsbn("  ");
+
+        assertNull(BookMapper.toNewBook(bookDTO).getIsbn());
+    }
+
+    @Test
+    void updateBook_ShouldMatchBeanUtilsCopyIgnoringIdCreatedAtAndVersion() {
+        BookDTO bookDTO = populate(new BookDTO(), "source");
+        bookDTO.setDescription(null);
+
+        // Entity-only fields (Google Books enrichment) must survive the update
+        Book expected = populate(new Book(), "target");
+        BeanUtils.copyProperties(bookDTO, expected, "id", "createdAt", "version");
+        Book result = populate(new Book(), "target");
+
+        BookMapper.updateBook(bookDTO, result);
+
+        assertEquals(expected, result);
+        assertEquals("target-previewLink", result.getPreviewLink());
+        assertNull(result.getDescription());
+    }
+
+    private static <T> T populate(T bean, String prefix) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(bean);
+        long number = prefix.hashCode() & 0xff;
+        for (PropertyDescriptor descriptor : wrapper.getPropertyDescriptors()) {
+            String name = descriptor.getName();
+            if (!wrapper.isWritableProperty(name)) {
+                continue;
+            }
+            Class<?> type = descriptor.getPropertyType();
+            Object value;
+            if (type == String.class) {
+                value = prefix + "-" + name;
+            } else if (type == Long.class) {
+                value = number + 1;
+            } else if (type == Integer.class) {
+                value = (int) number + 2;
+            } else if (type == Double.class) {
+                value = number + 0.5;
+            } else if (type == Boolean.class || type == boolean.class) {
+                value = Boolean.TRUE;
+            } else if (type == LocalDateTime.class) {
+                value = TIMESTAMP.plusMinutes(number);
+            } else {
+                throw new IllegalStateException("No sample value for " + type + " property " + name);
+            }
+            wrapper.setPropertyValue(name, value);
+        }
+        return bean;
+    }
+}
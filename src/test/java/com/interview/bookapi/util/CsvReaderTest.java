@@ -0,0 +1,54 @@
+package com.interview.bookapi.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void readRecord_ShouldUnquoteEmbeddedSeparatorsQuotesAndLineBreaks() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "\"a,b\",\"say \"\"hi\"\"\",\"line 1\nline 2\",plain,\n"));
+
+        assertEquals(List.of("a,b", "say \"hi\"", "line 1\nline 2", "plain", ""), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\n", "\r\n", "\r"})
+    void readRecord_ShouldReportRecordStartLinesForAnyLineEnding(String newline) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "title,author" + newline
+                        + "Dune,Herbert" + newline
+                        + newline
+                        + "\"Two" + newline + "Lines\",Someone" + newline
+                        + "Last,Row"));
+
+        assertEquals(List.of("title", "author"), reader.readRecord());
+        assertEquals(1, reader.getRecordStartLine());
+        assertEquals(List.of("Dune", "Herbert"), reader.readRecord());
+        assertEquals(2, reader.getRecordStartLine());
+        // Blank line 3 is skipped; the quoted line break keeps the CSV's own line ending
+        assertEquals(List.of("Two" + newline + "Lines", "Someone"), reader.readRecord());
+        assertEquals(4, reader.getRecordStartLine());
+        assertEquals(List.of("Last", "Row"), reader.readRecord());
+        assertEquals(6, reader.getRecordStartLine());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void readRecord_WithUnterminatedQuote_ShouldThrow() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("title\n\"never closed,x\n"));
+
+        reader.readRecord();
+        IOException ex = assertThrows(IOException.class, reader::readRecord);
+        assertTrue(ex.getMessage().contains("line 2"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.interview.bookapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvWriterTest {
+
+    @Test
+    void writeRecord_ShouldQuoteOnlyFieldsThatNeedIt() throws IOException {
+        StringWriter out = new StringWriter();
+
+        new CsvWriter(out).writeRecord(Arrays.asList("plain", "a,b", "say \"hi\"", "line 1\nline 2", "cr\rhere", null, ""));
+
+        assertEquals("plain,\"a,b\",\"say \"\"hi\"\"\",\"line 1\nline 2\",\"cr\rhere\",,\r\n", out.toString());
+    }
+
+    @Test
+    void writeRecord_ShouldBeReadBackByCsvReader() throws IOException {
+        List<String> record = List.of("The \"Best\", Vol. 1", "multi\r\nline", " padded ", "");
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        writer.writeRecord(record);
+        writer.writeRecord(List.of("second"));
+
+        CsvReader reader = new CsvReader(new StringReader(out.toString()));
+
+        assertEquals(record, reader.readRecord());
+        assertEquals(List.of("second"), reader.readRecord());
+        assertEquals(3, reader.getRecordStartLine());
+        assertNull(reader.readRecord());
+    }
+}
@@ -0,0 +1,101 @@
+package com.interview.bookapi.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DroppingRingBufferTest {
+
+    @Test
+    void constructor_ShouldRoundCapacityUpToPowerOfTwo() {
+        assertEquals(2, new DroppingRingBuffer<>(2).capacity());
+        assertEquals(4, new DroppingRingBuffer<>(3).capacity());
+        assertEquals(1024, new DroppingRingBuffer<>(1000).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new DroppingRingBuffer<>(1));
+    }
+
+    @Test
+    void poll_ShouldReturnItemsInOfferOrderAcrossWrapAround() {
+        DroppingRingBuffer<Integer> buffer = new DroppingRingBuffer<>(4);
+
+        // Ten rounds of three items move the positions around the four slots several times
+        int next = 0;
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(next + i));
+            }
+            for (int i = 0; i < 3; i++) {
+                assertEquals(next + i, buffer.poll());
+            }
+            next += 3;
+        }
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void offer_WhenFull_ShouldRejectUntilAnItemIsPolled() {
+        DroppingRingBuffer<String> buffer = new DroppingRingBuffer<>(2);
+
+        assertTrue(buffer.offer("a"));
+        assertTrue(buffer.offer("b"));
+        assertFalse(buffer.offer("c"));
+
+        assertEquals("a", buffer.poll());
+        assertTrue(buffer.offer("d"));
+        assertEquals("b", buffer.poll());
+        assertEquals("d", buffer.poll());
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    @Timeout(30)
+    void offerAndPoll_WithConcurrentProducersAndConsumers_ShouldDeliverEveryItemExactlyOnce() throws InterruptedException {
+        int producers = 4;
+        int consumers = 2;
+        int itemsPerProducer = 20_000;
+        int total = producers * itemsPerProducer;
+        DroppingRingBuffer<Integer> buffer = new DroppingRingBuffer<>(64);
+        AtomicIntegerArray deliveries = new AtomicIntegerArray(total);
+        AtomicInteger consumed = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int first = p * itemsPerProducer;
+            threads.add(new Thread(() -> {
+                for (int item = first; item < first + itemsPerProducer; item++) {
+                    while (!buffer.offer(item)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        for (int c = 0; c < consumers; c++) {
+            threads.add(new Thread(() -> {
+                while (consumed.get() < total) {
+                    Integer item = buffer.poll();
+                    if (item == null) {
+                        Thread.yield();
+                    } else {
+                        deliveries.incrementAndGet(item);
+                        consumed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int item = 0; item < total; item++) {
+            assertEquals(1, deliveries.get(item), "deliveries of item " + item);
+        }
+        assertNull(buffer.poll());
+    }
+}
@@ -0,0 +1,85 @@
+package com.interview.bookapi.util;
+
+import com.interview.bookapi.config.RequestLoggingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLogWriterTest {
+
+    private RequestLoggingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RequestLoggingProperties();
+        properties.setRoutes(List.of(route("/actuator/**", 0), route("/api/books/suggest", 1.0)));
+    }
+
+    @Test
+    void isSampled_ShouldUseRateOfFirstMatchingRoute() {
+        RequestLogWriter writer = new RequestLogWriter(properties);
+
+        assertFalse(writer.isSampled("/actuator/health"));
+        assertFalse(writer.isSampled("/actuator/metrics/jvm.memory.used"));
+        assertTrue(writer.isSampled("/api/books/suggest"));
+        assertTrue(writer.isSampled("/api/books/1"));
+    }
+
+    @Test
+    void isSampled_ShouldFallBackToDefaultRateAndHonourDisabled() {
+        properties.setSampleRate(0);
+        RequestLogWriter writer = new RequestLogWriter(properties);
+
+        assertFalse(writer.isSampled("/api/books/1"));
+        assertTrue(writer.isSampled("/api/books/suggest"));
+
+        properties.setEnabled(false);
+        assertFalse(writer.isSampled("/api/books/suggest"));
+    }
+
+    @Test
+    void headers_ShouldOnlyIncludeAllowListedHeaders() {
+        properties.setHeaders(List.of("content-type", "Accept"));
+        RequestLogWriter writer = new RequestLogWriter(properties);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.addHeader("Authorization", "Bearer secret");
+        request.addHeader("Cookie", "session=secret");
+        request.addHeader("Accept", "application/json");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.addHeader("Set-Cookie", "session=secret");
+        response.addHeader("Content-Type", "application/json");
+
+        List<String> headers = writer.headers(request, response);
+
+        assertEquals(List.of("> Accept: application/json", "< content-type: application/json"), headers);
+        assertTrue(headers.stream().noneMatch(header -> header.contains("secret")));
+    }
+
+    @Test
+    void log_WhenBufferIsFull_ShouldDropAndCountEvents() {
+        properties.setBufferCapacity(2);
+        // The writer thread is not started, so nothing drains the buffer
+        RequestLogWriter writer = new RequestLogWriter(properties);
+
+        for (int i = 0; i < 5; i++) {
+            ContentCachingRequestWrapper request = new ContentCachingRequestWrapper(
+                    new MockHttpServletRequest("GET", "/api/books/" + i));
+            writer.log(request, new TeeResponseWrapper(new MockHttpServletResponse(), 16), 1_000_000);
+        }
+
+        assertEquals(3, writer.droppedCount());
+    }
+
+    private static RequestLoggingProperties.Route route(String pattern, double sampleRate) {
+        RequestLoggingProperties.Route route = new RequestLoggingProperties.Route();
+        route.setPattern(pattern);
+        route.setSampleRate(sampleRate);
+        return route;
+    }
+}
@@ -0,0 +1,112 @@
+package com.interview.bookapi.util;
+
+import jakarta.servlet.ServletOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeeResponseWrapperTest {
+
+    private MockHttpServletResponse response;
+    private TeeResponseWrapper wrapper;
+
+    @BeforeEach
+    void setUp() {
+        response = new MockHttpServletResponse();
+        response.setCharacterEncoding("UTF-8");
+        wrapper = new TeeResponseWrapper(response, 4);
+    }
+
+    @Test
+    void getOutputStream_ShouldPassEverythingThroughAndCaptureUpToLimit() throws IOException {
+        // When
+        ServletOutputStream out = wrapper.getOutputStream();
+        out.write('a');
+        out.write("bcdefgh".getBytes(StandardCharsets.UTF_8), 1, 5);
+        out.write('i');
+
+        // Then
+        assertEquals("acdefgi", response.getContentAsString());
+        assertArrayEquals("acde".getBytes(StandardCharsets.UTF_8), wrapper.getCapturedBody());
+        assertEquals(7, wrapper.getBodyLength());
+        assertSame(out, wrapper.getOutputStream());
+    }
+
+    @Test
+    void getWriter_ShouldEncodeWithResponseCharsetOnFinish() throws IOException {
+        // When
+        PrintWriter writer = wrapper.getWriter();
+        writer.write("héllo");
+
+        // Then
+        assertEquals("", response.getContentAsString());
+        wrapper.finish();
+        assertEquals("héllo", response.getContentAsString());
+        assertArrayEquals("hél".getBytes(StandardCharsets.UTF_8), wrapper.getCapturedBody());
+        assertEquals("héllo".getBytes(StandardCharsets.UTF_8).length, wrapper.getBodyLength());
+        assertSame(writer, wrapper.getWriter());
+    }
+
+    @Test
+    void getWriterAndGetOutputStream_ShouldBeMutuallyExclusive() throws IOException {
+        wrapper.getWriter();
+        assertThrows(IllegalStateException.class, () -> wrapper.getOutputStream());
+
+        TeeResponseWrapper other = new TeeResponseWrapper(new MockHttpServletResponse(), 4);
+        other.getOutputStream();
+        assertThrows(IllegalStateException.class, other::getWriter);
+    }
+
+    @Test
+    void resetBuffer_ShouldDiscardUnwrittenBodyAndItsCapture() throws IOException {
+        // Given
+        wrapper.getOutputStream().write("old".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        wrapper.resetBuffer();
+        wrapper.getOutputStream().write("new".getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertEquals("new", response.getContentAsString());
+        assertArrayEquals("new".getBytes(StandardCharsets.UTF_8), wrapper.getCapturedBody());
+        assertEquals(3, wrapper.getBodyLength());
+    }
+
+    @Test
+    void resetBuffer_ShouldDropCharactersStillBufferedInWriter() throws IOException {
+        // Given
+        wrapper.getWriter().write("old");
+
+        // When
+        wrapper.resetBuffer();
+        wrapper.getWriter().write("new");
+        wrapper.finish();
+
+        // Then
+        assertEquals("new", response.getContentAsString());
+        assertArrayEquals("new".getBytes(StandardCharsets.UTF_8), wrapper.getCapturedBody());
+    }
+
+    @Test
+    void reset_ShouldClearCaptureAndAllowEitherOutputAgain() throws IOException {
+        // Given
+        response.setHeader("X-Test", "old");
+        wrapper.getWriter().write("old");
+
+        // When
+        wrapper.reset();
+        wrapper.getOutputStream().write("new".getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertNull(response.getHeader("X-Test"));
+        assertEquals("new", response.getContentAsString());
+        assertArrayEquals("new".getBytes(StandardCharsets.UTF_8), wrapper.getCapturedBody());
+        assertEquals(3, wrapper.getBodyLength());
+    }
+}